@@ -0,0 +1,90 @@
+/*
+ * AI move selection: one nextShot + shotResult round trip per op against
+ * a random fleet, reported the way GameEngine.fire does it (shipRevealed
+ * before a SUNK result). When the fleet is gone the board is rebuilt and
+ * the AI starts a new game.
+ *
+ * Monte Carlo runs against a time budget per move, so it is left out of
+ * the default parameters; add it with -p strategy=montecarlo.
+ */
+
+package bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import board.BitBoard;
+import board.Board;
+import board.BoardStatus;
+import engine.MoveSource;
+import main.Main;
+import ships.Fleet;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIBenchmark {
+
+    @Param({"10", "50"})
+    int size;
+
+    @Param({"random", "heatmap", "parity"})
+    String strategy;
+
+    private SplittableRandom random;
+    private MoveSource ai;
+    private Board target;
+
+    @Setup
+    public void setup() {
+        random = new SplittableRandom(Fixtures.SEED);
+        ai = Main.createAI(strategy, strategy, size, random.split());
+        target = new Board(new BitBoard(size));
+        newGame();
+    }
+
+    private void newGame() {
+        target.clear();
+        target.placeRandomly(Fleet.forBoard(size), 0, random);
+        ai.newGame(size);
+    }
+
+    @Benchmark
+    public int move() {
+        if (target.getShipsAfloat() == 0)
+            newGame();
+
+        int cell = ai.nextShot();
+        int row = cell / size;
+        int col = cell % size;
+        int outcome = target.tryAttackCell(row, col);
+        if (BoardStatus.isRejected(outcome))
+            return outcome;
+
+        if (outcome == BoardStatus.SUNK) {
+            int ship = target.getShipIndex(row, col);
+            int length = target.getPlacedShip(ship).getSize();
+            int first = target.getPlacedRow(ship) * size + target.getPlacedCol(ship);
+            ai.shipRevealed(first, target.getPlacedDirection(ship) == 'H' ? 1 : size, length);
+            ai.shotResult(cell, outcome, length);
+        } else {
+            ai.shotResult(cell, outcome, 0);
+        }
+        return outcome;
+    }
+}
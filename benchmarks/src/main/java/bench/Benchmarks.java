@@ -0,0 +1,27 @@
+/*
+ * Entry point of benchmarks.jar.
+ *
+ * Same command line as the stock JMH runner, but the GC profiler is always
+ * on so every result also reports allocation rate (gc.alloc.rate.norm is
+ * bytes allocated per operation).
+ */
+
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class Benchmarks {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Board.placeShip and Board.attackCell.
+ *
+ * placeFleet: a new Board plus placeShip for every ship of the standard
+ * fleet, at positions chosen once per trial (so one op = one whole fleet).
+ *
+ * attackCell: one shot per op, walking a shuffled order of every cell.
+ * When the board is used up a fresh one replaces it, which costs one
+ * placeFleet every size * size ops.
+ */
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import board.Board;
+import exceptions.CellAlreadyHitException;
+import exceptions.InvalidCoordinateException;
+import exceptions.ShipPlacementException;
+import ships.Ship;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    private Fixtures.FleetLayout layout;
+    private int[] shots;
+    private int next;
+    private Board board;
+
+    @Setup
+    public void setup() throws ShipPlacementException {
+        layout = new Fixtures.FleetLayout(size, Fixtures.SEED);
+        shots = Fixtures.shuffledCells(size, Fixtures.SEED);
+        board = layout.newBoard();
+    }
+
+    @Benchmark
+    public Board placeFleet() throws ShipPlacementException {
+        return layout.newBoard();
+    }
+
+    @Benchmark
+    public Ship attackCell() throws ShipPlacementException, CellAlreadyHitException, InvalidCoordinateException {
+        if (next == shots.length) {
+            board = layout.newBoard();
+            next = 0;
+        }
+        int cell = shots[next++];
+        return board.attackCell(cell / size, cell % size);
+    }
+}
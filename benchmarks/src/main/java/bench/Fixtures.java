@@ -0,0 +1,88 @@
+/*
+ * Shared inputs for the benchmarks.
+ * Responsible for:
+ *  - A fixed random fleet layout per board size, replayable on fresh boards
+ *  - Shuffled shot orders covering every cell once
+ *
+ * AI players come from Main.createAI, so benchmarks and tournaments
+ * build the same players. Everything is seeded so runs are comparable between builds.
+ */
+
+package bench;
+
+import java.util.SplittableRandom;
+
+import board.BitBoard;
+import board.Board;
+import board.PlacementTable;
+import exceptions.ShipPlacementException;
+import ships.Fleet;
+import ships.Ship;
+
+final class Fixtures {
+
+    static final long SEED = 42;
+
+    private Fixtures() {
+    }
+
+    // Standard fleet for the size, placed at random once; replayed by newBoard()
+    static final class FleetLayout {
+
+        final int size;
+        private final int[] rows;
+        private final int[] cols;
+        private final char[] directions;
+
+        FleetLayout(int size, long seed) {
+            this.size = size;
+
+            SplittableRandom random = new SplittableRandom(seed);
+            BitBoard scratch = new BitBoard(size);
+            Ship[] fleet = Fleet.forBoard(size);
+
+            rows = new int[fleet.length];
+            cols = new int[fleet.length];
+            directions = new char[fleet.length];
+
+            for (int i = 0; i < fleet.length; i++) {
+                PlacementTable table = PlacementTable.of(size, fleet[i].getSize());
+                int p = table.sample(scratch, random);
+                if (p < 0)
+                    throw new IllegalStateException("Fleet does not fit on a " + size + "x" + size + " board.");
+
+                rows[i] = table.row(p);
+                cols[i] = table.col(p);
+                directions[i] = table.direction(p);
+                scratch.tryPlaceShip(fleet[i], rows[i], cols[i], directions[i]);
+            }
+        }
+
+        // Fresh Board with new ships at the recorded positions
+        Board newBoard() throws ShipPlacementException {
+            Board board = new Board(size);
+            Ship[] fleet = Fleet.forBoard(size);
+
+            for (int i = 0; i < fleet.length; i++)
+                board.placeShip(fleet[i], rows[i], cols[i], directions[i]);
+            return board;
+        }
+    }
+
+    // Every cell of the board exactly once, packed as row * size + col
+    static int[] shuffledCells(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] cells = new int[size * size];
+
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = i;
+
+        for (int i = cells.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = tmp;
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Random fleet generation, as Main.setupRandomBoard and GameEngine do it:
+ * every ship of the standard fleet drawn from the placement tables onto
+ * an empty board. One op = one whole fleet on a new board.
+ *
+ * storage compares the dense BitBoard with the tiled SparseOcean.
+ */
+
+package bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import board.BitBoard;
+import board.Board;
+import board.SparseOcean;
+import ships.Fleet;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    @Param({"dense", "sparse"})
+    String storage;
+
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        random = new SplittableRandom(Fixtures.SEED);
+    }
+
+    @Benchmark
+    public Board randomFleet() {
+        Board board = new Board(storage.equals("sparse") ? new SparseOcean(size) : new BitBoard(size));
+
+        if (!board.placeRandomly(Fleet.forBoard(size), 0, random))
+            throw new IllegalStateException("Fleet does not fit on a " + size + "x" + size + " board.");
+        return board;
+    }
+}
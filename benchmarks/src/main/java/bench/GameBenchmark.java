@@ -0,0 +1,58 @@
+/*
+ * A full headless game: GameEngine sets up two random fleets and the two
+ * AIs fire until one fleet is gone. One op = one game.
+ */
+
+package bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.GameEngine;
+import engine.GameResult;
+import engine.MoveSource;
+import main.Main;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    @Param({"10", "20", "50"})
+    int size;
+
+    @Param({"random", "heatmap", "parity"})
+    String strategy;
+
+    private GameEngine engine;
+    private MoveSource first;
+    private MoveSource second;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(Fixtures.SEED);
+        engine = new GameEngine(size, random.split());
+        first = Main.createAI(strategy, "first", size, random.split());
+        second = Main.createAI(strategy, "second", size, random.split());
+    }
+
+    @Benchmark
+    public GameResult game() {
+        return engine.play(first, second);
+    }
+}
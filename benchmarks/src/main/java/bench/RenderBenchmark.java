@@ -0,0 +1,97 @@
+/*
+ * Board rendering as a turn uses it.
+ *
+ * shotAndRedrawRow: one shot, then the own and hidden rendering of the
+ * row it landed on. The shot dirties that row, so both are re-rendered.
+ *
+ * turnWindow: every row of the window Player shows around the last shot
+ * (the whole board up to 16 x 16). Full-width rows come from the row
+ * cache; wider boards render the window columns each time.
+ */
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import board.Board;
+import exceptions.ShipPlacementException;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    // rows and columns Player shows per board on larger oceans
+    private static final int VIEW_SIZE = 16;
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    private Fixtures.FleetLayout layout;
+    private int[] shots;
+    private int next;
+    private Board board;
+
+    @Setup
+    public void setup() throws ShipPlacementException {
+        layout = new Fixtures.FleetLayout(size, Fixtures.SEED);
+        shots = Fixtures.shuffledCells(size, Fixtures.SEED);
+        board = layout.newBoard();
+
+        //some hits and misses on the board before measuring
+        for (int i = 0; i < shots.length / 4; i++)
+            shoot();
+    }
+
+    private int shoot() throws ShipPlacementException {
+        if (next == shots.length) {
+            board = layout.newBoard();
+            next = 0;
+        }
+        int cell = shots[next++];
+        board.tryAttackCell(cell / size, cell % size);
+        return cell / size;
+    }
+
+    @Benchmark
+    public void shotAndRedrawRow(Blackhole bh) throws ShipPlacementException {
+        int row = shoot();
+        bh.consume(board.getOwnBoardRow(row));
+        bh.consume(board.getHiddenBoardRow(row));
+    }
+
+    @Benchmark
+    public void turnWindow(Blackhole bh) {
+        int view = Math.min(size, VIEW_SIZE);
+        int row = windowStart(board.getLastHitRow(), view);
+        int col = windowStart(board.getLastHitCol(), view);
+
+        for (int r = row; r < row + view; r++) {
+            bh.consume(board.getOwnBoardRow(r, col, col + view));
+            bh.consume(board.getHiddenBoardRow(r, col, col + view));
+        }
+    }
+
+    // same window placement as Player.displayBoardsSideBySide
+    private int windowStart(int center, int view) {
+        if (center < 0)
+            return 0;
+        return Math.max(0, Math.min(center - view / 2, size - view));
+    }
+}
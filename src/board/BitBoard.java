@@ -0,0 +1,181 @@
+/*
+ * Bit-packed ocean storage for the Sea Battle game.
+ * Responsible for:
+ *  - Storing ship occupancy and attacked cells as packed bit sets
+ *  - Keeping one bit mask per placed ship
+ *
+ * Cell (row, col) is bit (row * size + col). A 10 x 10 board fits in
+ * two longs; bigger boards simply use more words.
+ *
+ * No Cell objects are created, so a board costs a handful of arrays
+ * regardless of how many squares it has. Board uses it as its default
+ * storage, and simulations use it directly.
+ *
+ * Small fleets find the ship on a cell through the per-ship masks;
+ * big fleets go through the start-cell index kept by Ocean.
+ */
+
+package board;
+
+import java.util.Arrays;
+
+import ships.Ship;
+
+public class BitBoard extends Ocean {
+
+    private static final int LINEAR_LOOKUP_LIMIT = 16;
+
+    private final long[] occupied;   // every cell holding a ship
+    private final long[] hits;       // every cell already attacked
+
+    // per ship: the words of its mask, starting at word shipFirstWord[i]
+    private long[][] shipMasks = new long[8][];
+    private int[] shipFirstWord = new int[8];
+
+
+    public BitBoard(int size) {
+        super(size);
+
+        int words = (size * size + 63) >>> 6;
+        occupied = new long[words];
+        hits = new long[words];
+    }
+
+//==================================== SHIP PLACEMENT =================================
+
+    public int tryPlaceShip(Ship ship, int row, int col, char direction) {
+
+        int shipSize = ship.getSize();
+        direction = Character.toUpperCase(direction);
+
+        // 1️ Direction and boundary validation
+        int status = checkPlacement(shipSize, row, col, direction);
+        if (status != BoardStatus.PLACED)
+            return status;
+
+        // 2️ Build the ship mask over the words it spans
+        int step = direction == 'H' ? 1 : size;
+        int first = row * size + col;
+        int last = first + (shipSize - 1) * step;
+
+        int firstWord = first >>> 6;
+        long[] mask = new long[(last >>> 6) - firstWord + 1];
+
+        for (int i = 0, bit = first; i < shipSize; i++, bit += step) {
+            mask[(bit >>> 6) - firstWord] |= 1L << bit;
+        }
+
+        // 3️ Collision validation: one AND per word
+        for (int w = 0; w < mask.length; w++) {
+            if ((occupied[firstWord + w] & mask[w]) != 0)
+                return BoardStatus.OVERLAP;
+        }
+
+        // 4️ Place ship
+        for (int w = 0; w < mask.length; w++) {
+            occupied[firstWord + w] |= mask[w];
+        }
+
+        int index = registerShip(ship, first, step);
+        if (index == shipMasks.length) {
+            shipMasks = Arrays.copyOf(shipMasks, index * 2);
+            shipFirstWord = Arrays.copyOf(shipFirstWord, index * 2);
+        }
+        shipMasks[index] = mask;
+        shipFirstWord[index] = firstWord;
+
+        return BoardStatus.PLACED;
+    }
+
+//=========================================== ATTACK LOGIC =====================================
+
+    public int tryAttackCell(int row, int col) {
+
+        if (row < 0 || row >= size || col < 0 || col >= size)
+            return BoardStatus.OUT_OF_BOUNDS;
+
+        int bit = row * size + col;
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+
+        if ((hits[word] & mask) != 0)
+            return BoardStatus.ALREADY_HIT;
+
+        hits[word] |= mask;
+
+        lastHitRow = row;
+        lastHitCol = col;
+
+        if ((occupied[word] & mask) != 0)
+            return registerHitOn(shipIndexAtBit(bit));
+
+        return BoardStatus.MISS;
+    }
+
+//======================================= QUERIES =======================================
+
+    public boolean hasShip(int row, int col) {
+        int bit = row * size + col;
+        return (occupied[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public boolean isHit(int row, int col) {
+        int bit = row * size + col;
+        return (hits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    // fleet index of the ship on (row, col), -1 for empty sea
+    public int getShipIndex(int row, int col) {
+        int bit = row * size + col;
+        if ((occupied[bit >>> 6] & (1L << bit)) == 0)
+            return -1;
+        return shipIndexAtBit(bit);
+    }
+
+    public void clear() {
+        Arrays.fill(occupied, 0L);
+        Arrays.fill(hits, 0L);
+        Arrays.fill(shipMasks, 0, fleetCount, null);
+        super.clear();
+    }
+
+    public int[] hitCells() {
+        int count = 0;
+        for (long word : hits)
+            count += Long.bitCount(word);
+
+        int[] cells = new int[count];
+        int n = 0;
+        for (int w = 0; w < hits.length; w++) {
+            for (long bits = hits[w]; bits != 0; bits &= bits - 1)
+                cells[n++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        return cells;
+    }
+
+    // raw occupancy words, for PlacementTable
+    int wordCount() {
+        return occupied.length;
+    }
+
+    long occupiedWord(int word) {
+        return occupied[word];
+    }
+
+    private int shipIndexAtBit(int bit) {
+
+        if (fleetCount > LINEAR_LOOKUP_LIMIT)
+            return shipIndexCovering(bit);
+
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+
+        for (int i = 0; i < fleetCount; i++) {
+            int w = word - shipFirstWord[i];
+            if (w >= 0 && w < shipMasks[i].length && (shipMasks[i][w] & mask) != 0)
+                return i;
+        }
+        return -1;
+    }
+
+}
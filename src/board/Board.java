@@ -1,10 +1,12 @@
 /*
  * Represents the game board in the Sea Battle game.
  * Responsible for:
- *  - Maintaining the grid of cells
+ *  - Maintaining the grid of cells (see Ocean: packed bit sets or sparse tiles)
  *  - Enforcing ship placement rules
  *  - Enforcing attack rules
  *  - Providing controlled board views for display
+ *    (rendered rows are cached and only redrawn when they change)
+ *  - Rendering any rectangular window of the board for large oceans
  *
  * This class does not handle user input or game flow.
  */
@@ -12,8 +14,15 @@
 
 package board;
 
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
 import console.ConsoleColors;
 import console.ConsoleSymbols;
+import events.AttackEvent;
+import events.Events;
+import events.PlacementEvent;
+import metrics.Metrics;
 import exceptions.CellAlreadyHitException;
 import exceptions.InvalidCoordinateException;
 import exceptions.ShipPlacementException;
@@ -21,64 +30,146 @@ import ships.Ship;
 
 public class Board {
 
+    private static final int MAX_FLEET_RESTARTS = 1000;
+
     private final int size;
-    private Cell[][] grid;
+    private final Ocean cells;
     
     private int lastHitRow = -1;
     private int lastHitCol = -1;
 
+    // rendered rows, redrawn only when marked dirty
+    private final String[] ownRows;
+    private final String[] hiddenRows;
+    private final boolean[] ownDirty;
+    private final boolean[] hiddenDirty;
+
 
     public Board(int size) {
-        this.size = size;
-        grid = new Cell[size][size];
-        
-        //initializing Board
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                grid[i][j] = new Cell();
-            }
-        }
+        this(Ocean.create(size));
+    }
+
+    // Board over the given storage, e.g. to compare layouts
+    public Board(Ocean cells) {
+        this.size = cells.getSize();
+        this.cells = cells;
+
+        ownRows = new String[size];
+        hiddenRows = new String[size];
+        ownDirty = new boolean[size];
+        hiddenDirty = new boolean[size];
+        Arrays.fill(ownDirty, true);
+        Arrays.fill(hiddenDirty, true);
     }
 
 //==================================== SHIP PLACEMENT =================================
 
     public void placeShip(Ship ship, int row, int col, char direction) throws ShipPlacementException  {
 
-        int shipSize = ship.getSize();
-        direction = Character.toUpperCase(direction);
+        int status = tryPlaceShip(ship, row, col, direction);
+
+        if (status != BoardStatus.PLACED)
+            Metrics.BOARD_EXCEPTIONS.increment();
 
-        // 1️ Direction validation
-        if (direction != 'H' && direction != 'V')
+        if (status == BoardStatus.INVALID_DIRECTION)
             throw new ShipPlacementException("Invalid direction. Use H for Horizontal or V for Vertical.");
 
-        // 2️ Boundary validation
-        if (direction == 'H') {
-            if (col < 0 || col + shipSize > size || row < 0 || row >= size)
-                throw new ShipPlacementException("Ship goes out of board horizontally.");
-        } else {
-            if (row < 0 || row + shipSize > size || col < 0 || col >= size) 
-                throw new ShipPlacementException("Ship goes out of board vertically.");
+        if (status == BoardStatus.OUT_OF_BOUNDS)
+            throw new ShipPlacementException(Character.toUpperCase(direction) == 'H'
+                    ? "Ship goes out of board horizontally."
+                    : "Ship goes out of board vertically.");
+
+        if (status == BoardStatus.OVERLAP)
+            throw new ShipPlacementException("Ship placement overlaps with another ship.");
+    }
+
+    // Same rules as placeShip without exceptions; returns a BoardStatus code
+    public int tryPlaceShip(Ship ship, int row, int col, char direction) {
+
+        PlacementEvent event = Events.ENABLED ? new PlacementEvent() : null;
+        if (event != null)
+            event.begin();
+
+        int status = cells.tryPlaceShip(ship, row, col, direction);
+
+        if (event != null) {
+            event.shipLength = ship.getSize();
+            event.row = row;
+            event.col = col;
+            event.direction = Character.toUpperCase(direction);
+            event.status = BoardStatus.name(status);
+            event.commit();
         }
 
-        // 3️ Collision validation
-        for (int i = 0; i < shipSize; i++) {
-            int r = row + (direction == 'V' ? i : 0);
-            int c = col + (direction == 'H' ? i : 0);
+        if (status == BoardStatus.PLACED) {
+            int rows = Character.toUpperCase(direction) == 'V' ? ship.getSize() : 1;
+            for (int r = row; r < row + rows; r++)
+                ownDirty[r] = true;
+        }
+        return status;
+    }
 
-            if (grid[r][c].hasShip()) {
-                throw new ShipPlacementException(
-                    "Ship placement overlaps with another ship."
-                );
+    // Places ship at a uniformly random free position; returns its index in
+    // PlacementTable.of(size, ship length), or -1 when it no longer fits
+    public int placeRandomly(Ship ship, SplittableRandom random) {
+        PlacementTable table = PlacementTable.of(size, ship.getSize());
+        int p = table.sample(cells, random);
+        if (p < 0)
+            return -1;
+
+        if (tryPlaceShip(ship, table.row(p), table.col(p), table.direction(p)) != BoardStatus.PLACED)
+            throw new IllegalStateException("Placement table out of sync with board");
+        return p;
+    }
+
+    // Places ships[from..] at random, keeping the ships already on the board.
+    // Drawing ship by ship can box the last ones in (a third of all 5x5
+    // fleets); then the drawn ships are taken off and the whole batch is drawn
+    // again, at most MAX_FLEET_RESTARTS times. False when it never fit, with
+    // the board as it was before the call.
+    public boolean placeRandomly(Ship[] ships, int from, SplittableRandom random) {
+        int kept = cells.getFleetSize();
+
+        for (int restart = 0; restart <= MAX_FLEET_RESTARTS; restart++) {
+            if (restart > 0) {
+                Metrics.PLACEMENT_RETRIES.increment();
+                removeShipsFrom(kept);
             }
+
+            int i = from;
+            while (i < ships.length) {
+                //one attempt per ship: the placement table only offers free positions
+                Metrics.PLACEMENT_ATTEMPTS.increment();
+                if (placeRandomly(ships[i], random) < 0)
+                    break;
+                i++;
+            }
+            if (i == ships.length)
+                return true;
         }
 
-        // 4️ Place ship
-        for (int i = 0; i < shipSize; i++) {
-            int r = row + (direction == 'V' ? i : 0);
-            int c = col + (direction == 'H' ? i : 0);
+        removeShipsFrom(kept);
+        return false;
+    }
 
-            grid[r][c].placeShip(ship);
+    // Takes off every ship placed after the first kept ones; placement only, no hits yet
+    private void removeShipsFrom(int kept) {
+        int placed = cells.getFleetSize();
+        Ship[] ships = new Ship[kept];
+        int[] starts = new int[kept];
+        int[] steps = new int[kept];
+        for (int i = 0; i < kept; i++) {
+            ships[i] = cells.getFleetShip(i);
+            starts[i] = cells.getShipStart(i);
+            steps[i] = cells.getShipStep(i);
         }
+
+        cells.clear();
+        for (int i = 0; i < kept; i++)
+            cells.tryPlaceShip(ships[i], starts[i] / size, starts[i] % size, steps[i] == 1 ? 'H' : 'V');
+
+        if (placed > kept)
+            Arrays.fill(ownDirty, true);
     }
 
     
@@ -86,28 +177,75 @@ public class Board {
 
     public Ship attackCell(int row, int col) throws CellAlreadyHitException, InvalidCoordinateException{
 
+        int status = tryAttackCell(row, col);
+
+        if (status == BoardStatus.OUT_OF_BOUNDS || status == BoardStatus.ALREADY_HIT)
+            Metrics.BOARD_EXCEPTIONS.increment();
+
     	//out of board coordinates
-    	if (row < 0 || row >= size || col < 0 || col >= size) 
+        if (status == BoardStatus.OUT_OF_BOUNDS)
             throw new InvalidCoordinateException("Invalid coordinates. Please enter values within the board.");
-    	
-        Cell cell = grid[row][col];
-        
+
         //multiple hits on same cell
-        if (cell.isHit())
+        if (status == BoardStatus.ALREADY_HIT)
             throw new CellAlreadyHitException("This cell has already been attacked. Try a different coordinate.");
 
-        cell.markHit();
-        
+        return status == BoardStatus.MISS ? null : cells.getShip(row, col);
+    }
+
+    // Same rules as attackCell without exceptions; returns MISS, HIT, SUNK, ALREADY_HIT or OUT_OF_BOUNDS
+    public int tryAttackCell(int row, int col) {
+
+        AttackEvent event = Events.ENABLED ? new AttackEvent() : null;
+        if (event != null)
+            event.begin();
+
+        int status = cells.tryAttackCell(row, col);
+
+        if (event != null) {
+            event.row = row;
+            event.col = col;
+            event.outcome = BoardStatus.name(status);
+            event.commit();
+        }
+
+        if (BoardStatus.isRejected(status))
+            return status;
+
+        //old highlight goes away, new one appears
+        if (lastHitRow >= 0)
+            markRowDirty(lastHitRow);
+        markRowDirty(row);
+
         lastHitRow = row;
         lastHitCol = col;
 
-        if (cell.hasShip()) {
-            Ship ship = cell.getShip();
-            ship.registerHit();
-            return ship;
-        }
+        //a sunk ship is revealed on the hidden view, only its own rows change
+        if (status == BoardStatus.SUNK)
+            markShipDirty(cells.getShipIndex(row, col));
+
+        return status;
+    }
 
-        return null; // miss
+    // Marks a saved list of attacked cells (row * size + col, as getHitCells
+    // returns them) as hit in one go. The last-hit highlight is restored as given.
+    public void restoreHits(int[] hitCells, int lastRow, int lastCol) {
+        for (int cell : hitCells)
+            cells.tryAttackCell(cell / size, cell % size);
+
+        lastHitRow = cells.lastHitRow = lastRow;
+        lastHitCol = cells.lastHitCol = lastCol;
+        Arrays.fill(ownDirty, true);
+        Arrays.fill(hiddenDirty, true);
+    }
+
+    // Empties the board so it can be reused for another game
+    public void clear() {
+        cells.clear();
+        lastHitRow = -1;
+        lastHitCol = -1;
+        Arrays.fill(ownDirty, true);
+        Arrays.fill(hiddenDirty, true);
     }
 
 //======================================= DISPLAY LOGIC =======================================
@@ -152,6 +290,63 @@ public class Board {
     public boolean isLastHit(int row, int col) {
         return row == lastHitRow && col == lastHitCol;
     }
+
+    public int getSize() {
+        return size;
+    }
+
+    // null when the cell is empty sea
+    public Ship getShip(int row, int col) {
+        return cells.getShip(row, col);
+    }
+
+    public boolean isHit(int row, int col) {
+        return cells.isHit(row, col);
+    }
+
+    // Attacked cells (row * size + col) in ascending order, the form restoreHits takes
+    public int[] getHitCells() {
+        return cells.hitCells();
+    }
+
+    // Ships in the order they were placed, with their positions
+    public int getPlacedShipCount() {
+        return cells.getFleetSize();
+    }
+
+    public Ship getPlacedShip(int i) {
+        return cells.getFleetShip(i);
+    }
+
+    public int getPlacedRow(int i) {
+        return cells.getShipStart(i) / size;
+    }
+
+    public int getPlacedCol(int i) {
+        return cells.getShipStart(i) % size;
+    }
+
+    public char getPlacedDirection(int i) {
+        return cells.getShipStep(i) == 1 ? 'H' : 'V';
+    }
+
+    // placement index of the ship on (row, col), -1 for empty sea
+    public int getShipIndex(int row, int col) {
+        return cells.getShipIndex(row, col);
+    }
+
+    public int getShipsAfloat() {
+        return cells.getShipsAfloat();
+    }
+
+    // -1 until the board has been attacked
+    public int getLastHitRow() {
+        return lastHitRow;
+    }
+
+    public int getLastHitCol() {
+        return lastHitCol;
+    }
     
     
     
@@ -159,11 +354,7 @@ public class Board {
 
     //A   B   C   D   E   F   G   H   I   J 
     public String getOwnBoardHeader() {
-        StringBuilder sb = new StringBuilder("    ");
-        for (int c = 0; c < size; c++) {
-            sb.append((char) ('A' + c)).append("   ");
-        }
-        return sb.toString();
+        return RenderCache.forBoard(size, size).header;
     }
 
     //A   B   C   D   E   F   G   H   I   J 
@@ -173,65 +364,96 @@ public class Board {
     
     //┌───┬───┬───┬───┬───┬───┬───┬───┬───┬───┐
     public String getTopBorder() {
-        StringBuilder sb = new StringBuilder("  ").append(ConsoleSymbols.TOP_LEFT);
-
-        for (int c = 0; c < size; c++) {
-            sb.append(ConsoleSymbols.HORIZONTAL).append(ConsoleSymbols.HORIZONTAL).append(ConsoleSymbols.HORIZONTAL);
-
-            if (c < size - 1) sb.append(ConsoleSymbols.T_TOP);
-        }
-
-        sb.append(ConsoleSymbols.TOP_RIGHT);
-        return sb.toString();
+        return RenderCache.forBoard(size, size).top;
     }
     
     //├───┼───┼───┼───┼───┼───┼───┼───┼───┼───┤
     public String getMiddleBorder() {
-        StringBuilder sb = new StringBuilder("  ").append(ConsoleSymbols.T_LEFT);
-
-        for (int c = 0; c < size; c++) {
-            sb.append(ConsoleSymbols.HORIZONTAL).append(ConsoleSymbols.HORIZONTAL).append(ConsoleSymbols.HORIZONTAL);
-
-            if (c < size - 1) sb.append(ConsoleSymbols.CROSS);
-        }
-
-        sb.append(ConsoleSymbols.T_RIGHT);
-        return sb.toString();
+        return RenderCache.forBoard(size, size).middle;
     }
     
     //└───┴───┴───┴───┴───┴───┴───┴───┴───┴───┘
     public String getBottomBorder() {
-        StringBuilder sb = new StringBuilder("  ").append(ConsoleSymbols.BOTTOM_LEFT);
+        return RenderCache.forBoard(size, size).bottom;
+    }
 
-        for (int c = 0; c < size; c++) {
-            sb.append(ConsoleSymbols.HORIZONTAL).append(ConsoleSymbols.HORIZONTAL).append(ConsoleSymbols.HORIZONTAL);
+    private void markRowDirty(int row) {
+        ownDirty[row] = true;
+        hiddenDirty[row] = true;
+    }
 
-            if (c < size - 1) sb.append(ConsoleSymbols.T_BOTTOM);
+    private void markShipDirty(int index) {
+        int rows = getPlacedDirection(index) == 'V' ? getPlacedShip(index).getSize() : 1;
+        for (int r = getPlacedRow(index); r < getPlacedRow(index) + rows; r++)
+            hiddenDirty[r] = true;
+    }
+
+    public String getOwnBoardRow(int row) {
+        if (ownDirty[row]) {
+            ownRows[row] = renderOwnRow(row, 0, size);
+            ownDirty[row] = false;
         }
+        return ownRows[row];
+    }
 
-        sb.append(ConsoleSymbols.BOTTOM_RIGHT);
-        return sb.toString();
+    public String getHiddenBoardRow(int row) {
+        if (hiddenDirty[row]) {
+            hiddenRows[row] = renderHiddenRow(row, 0, size);
+            hiddenDirty[row] = false;
+        }
+        return hiddenRows[row];
+    }
+
+ // =================VIEWPORT (columns fromCol .. toCol - 1) =================
+
+    public String getBoardHeader(int fromCol, int toCol) {
+        if (fromCol == 0 && toCol == size)
+            return getOwnBoardHeader();
+        return RenderCache.buildHeader(size, fromCol, toCol);
+    }
+
+    public String getTopBorder(int fromCol, int toCol) {
+        return RenderCache.forBoard(size, toCol - fromCol).top;
+    }
+
+    public String getMiddleBorder(int fromCol, int toCol) {
+        return RenderCache.forBoard(size, toCol - fromCol).middle;
+    }
+
+    public String getBottomBorder(int fromCol, int toCol) {
+        return RenderCache.forBoard(size, toCol - fromCol).bottom;
+    }
+
+    public String getOwnBoardRow(int row, int fromCol, int toCol) {
+        if (fromCol == 0 && toCol == size)
+            return getOwnBoardRow(row);
+        return renderOwnRow(row, fromCol, toCol);
+    }
+
+    public String getHiddenBoardRow(int row, int fromCol, int toCol) {
+        if (fromCol == 0 && toCol == size)
+            return getHiddenBoardRow(row);
+        return renderHiddenRow(row, fromCol, toCol);
     }
     
     //│ ~ │ ~ │ ~ │ ~ │ ~ │ ~ │ ~ │ ~ │ ~ │ ~ │
-    public String getOwnBoardRow(int row) {
+    private String renderOwnRow(int row, int fromCol, int toCol) {
         StringBuilder sb = new StringBuilder();
-        sb.append(row).append(" ").append(ConsoleSymbols.VERTICAL);
+        RenderCache.appendRowLabel(sb, size, row).append(" ").append(ConsoleSymbols.VERTICAL);
 
-        for (int col = 0; col < size; col++) {
-            Cell cell = grid[row][col];
+        for (int col = fromCol; col < toCol; col++) {
             String symbol;
 
-            if (cell.hasShip()) {
-                if (cell.isHit()) {
+            if (cells.hasShip(row, col)) {
+                if (cells.isHit(row, col)) {
                     symbol = isLastHit(row, col)
                             ? ConsoleColors.BRIGHT_RED + ConsoleSymbols.SOLID_SQUARE + ConsoleColors.RESET
                             : ConsoleSymbols.SOLID_SQUARE;
                 } else {
-                    symbol = cell.getShip().getSymbol();
+                    symbol = cells.getShip(row, col).getSymbol();
                 }
             } else {
-                if (cell.isHit()) {
+                if (cells.isHit(row, col)) {
                     symbol = isLastHit(row, col)
                             ? ConsoleColors.BRIGHT_RED + ConsoleSymbols.MISS_X + ConsoleColors.RESET
                             : ConsoleSymbols.MISS_X;
@@ -245,25 +467,25 @@ public class Board {
 
         return sb.toString();
     }
-    public String getHiddenBoardRow(int row) {
+    private String renderHiddenRow(int row, int fromCol, int toCol) {
         StringBuilder sb = new StringBuilder();
-        sb.append(row).append(" ").append(ConsoleSymbols.VERTICAL);
+        RenderCache.appendRowLabel(sb, size, row).append(" ").append(ConsoleSymbols.VERTICAL);
 
-        for (int col = 0; col < size; col++) {
-            Cell cell = grid[row][col];
+        for (int col = fromCol; col < toCol; col++) {
             String symbol;
 
-            if (!cell.isHit()) {
+            if (!cells.isHit(row, col)) {
                 symbol = ConsoleSymbols.SEA_WAVE;
             }
-            else if (cell.hasShip()) {
+            else if (cells.hasShip(row, col)) {
+                Ship ship = cells.getShip(row, col);
                 if (isLastHit(row, col)) {
-                    symbol = cell.getShip().isDestroyed()
+                    symbol = ship.isDestroyed()
                             ? ConsoleColors.BRIGHT_RED + ConsoleSymbols.SOLID_SQUARE + ConsoleColors.RESET
                             : ConsoleColors.BRIGHT_RED + ConsoleSymbols.HIT_CIRCLE + ConsoleColors.RESET;
                 } else {
-                    symbol = cell.getShip().isDestroyed()
-                            ? cell.getShip().getSymbol()
+                    symbol = ship.isDestroyed()
+                            ? ship.getSymbol()
                             : ConsoleSymbols.HIT_CIRCLE;
                 }
             }
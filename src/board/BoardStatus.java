@@ -0,0 +1,58 @@
+/*
+ * Status codes returned by the non-throwing board methods
+ * (tryPlaceShip / tryAttackCell) of Board and BitBoard, and by the
+ * submit methods of engine.Match.
+ *
+ * Plain ints so that hot loops never build an exception or an object;
+ * the exception-based methods are thin wrappers over these codes.
+ */
+
+package board;
+
+public final class BoardStatus {
+
+    //=====================ATTACK OUTCOMES=====================
+
+    public static final int MISS = 0;
+    public static final int HIT = 1;
+    public static final int SUNK = 2;
+
+    //=====================PLACEMENT OUTCOME=====================
+
+    public static final int PLACED = 3;
+
+    //=====================REJECTIONS=====================
+
+    public static final int ALREADY_HIT = 4;
+    public static final int OUT_OF_BOUNDS = 5;
+    public static final int OVERLAP = 6;
+    public static final int INVALID_DIRECTION = 7;
+
+    // match-level: the move does not fit the current phase or turn
+    public static final int WRONG_PHASE = 8;
+    public static final int NOT_YOUR_TURN = 9;
+
+    private BoardStatus() {
+    }
+
+    // true when the move was rejected and the board is unchanged
+    public static boolean isRejected(int status) {
+        return status >= ALREADY_HIT;
+    }
+
+    public static String name(int status) {
+        switch (status) {
+            case MISS: return "MISS";
+            case HIT: return "HIT";
+            case SUNK: return "SUNK";
+            case PLACED: return "PLACED";
+            case ALREADY_HIT: return "ALREADY_HIT";
+            case OUT_OF_BOUNDS: return "OUT_OF_BOUNDS";
+            case OVERLAP: return "OVERLAP";
+            case INVALID_DIRECTION: return "INVALID_DIRECTION";
+            case WRONG_PHASE: return "WRONG_PHASE";
+            case NOT_YOUR_TURN: return "NOT_YOUR_TURN";
+            default: return "UNKNOWN(" + status + ")";
+        }
+    }
+}
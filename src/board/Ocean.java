@@ -0,0 +1,234 @@
+/*
+ * Storage behind a Sea Battle board.
+ * Responsible for:
+ *  - The placement and attack rules shared by every storage layout
+ *  - Indexing placed ships by their start cell
+ *  - Keeping each ship's footprint and the number of ships sunk
+ *
+ * Two layouts exist:
+ *  - BitBoard: dense bit sets, a fixed cost per square
+ *  - SparseOcean: 8 x 8 tiles allocated only where ships or shots are
+ *
+ * create() picks the layout; -Dseabattle.sparse=true selects SparseOcean.
+ * Oceans only return BoardStatus codes; Board adds the exception-based
+ * API, random placement and the rendered views on top.
+ */
+
+package board;
+
+import java.util.Arrays;
+
+import ships.Ship;
+
+public abstract class Ocean {
+
+    private static final boolean SPARSE = Boolean.getBoolean("seabattle.sparse");
+
+    protected final int size;
+
+    protected int lastHitRow = -1;
+    protected int lastHitCol = -1;
+
+    // placed ships; shipStart is the first cell, shipStep 1 (horizontal) or size (vertical)
+    protected Ship[] fleet = new Ship[8];
+    protected int[] shipStart = new int[8];
+    protected int[] shipStep = new int[8];
+    protected int fleetCount;
+    private int longestShip;
+    private int shipsSunk;
+
+    // start cell -> fleet index, open addressing; keys are cell + 1, 0 is empty
+    private int[] startKeys = new int[32];
+    private int[] startValues = new int[32];
+
+    protected Ocean(int size) {
+        this.size = size;
+    }
+
+    public static Ocean create(int size) {
+        return SPARSE ? new SparseOcean(size) : new BitBoard(size);
+    }
+
+//==================================== SHIP PLACEMENT =================================
+
+    // Places ship if the rules allow it; returns a BoardStatus code
+    public abstract int tryPlaceShip(Ship ship, int row, int col, char direction);
+
+    // Direction and boundary rules; PLACED when the ship may go there if nothing overlaps
+    protected int checkPlacement(int shipSize, int row, int col, char direction) {
+
+        // 1️ Direction validation
+        if (direction != 'H' && direction != 'V')
+            return BoardStatus.INVALID_DIRECTION;
+
+        // 2️ Boundary validation
+        if (direction == 'H') {
+            if (col < 0 || col + shipSize > size || row < 0 || row >= size)
+                return BoardStatus.OUT_OF_BOUNDS;
+        } else {
+            if (row < 0 || row + shipSize > size || col < 0 || col >= size)
+                return BoardStatus.OUT_OF_BOUNDS;
+        }
+        return BoardStatus.PLACED;
+    }
+
+//=========================================== ATTACK LOGIC =====================================
+
+    // Attacks a cell; returns MISS, HIT, SUNK, ALREADY_HIT or OUT_OF_BOUNDS
+    public abstract int tryAttackCell(int row, int col);
+
+    public boolean isLastHit(int row, int col) {
+        return row == lastHitRow && col == lastHitCol;
+    }
+
+//======================================= QUERIES =======================================
+
+    public int getSize() {
+        return size;
+    }
+
+    public abstract boolean hasShip(int row, int col);
+
+    public abstract boolean isHit(int row, int col);
+
+    // null when the cell is empty sea
+    public Ship getShip(int row, int col) {
+        int index = getShipIndex(row, col);
+        return index < 0 ? null : fleet[index];
+    }
+
+    // true once every ship cell has been attacked
+    public boolean allShipsDestroyed() {
+        return shipsSunk == fleetCount;
+    }
+
+    // Attacked cells (row * size + col) in ascending order; the cost follows
+    // the number of shots, not the board area
+    public abstract int[] hitCells();
+
+    // Empties the board so it can be reused for another game
+    public void clear() {
+        Arrays.fill(fleet, 0, fleetCount, null);
+        Arrays.fill(startKeys, 0);
+        fleetCount = 0;
+        longestShip = 0;
+        shipsSunk = 0;
+        lastHitRow = -1;
+        lastHitCol = -1;
+    }
+
+//======================================= FLEET INDEX =======================================
+
+    // Ships in placement order. Ship i covers getShipStart(i) + k * getShipStep(i)
+    // for k < its length; cells are row * size + col.
+    public int getFleetSize() {
+        return fleetCount;
+    }
+
+    public Ship getFleetShip(int index) {
+        return fleet[index];
+    }
+
+    public int getShipStart(int index) {
+        return shipStart[index];
+    }
+
+    // 1 for a horizontal ship, size for a vertical one
+    public int getShipStep(int index) {
+        return shipStep[index];
+    }
+
+    // fleet index of the ship on (row, col), -1 for empty sea
+    public int getShipIndex(int row, int col) {
+        if (!hasShip(row, col))
+            return -1;
+        return shipIndexCovering(row * size + col);
+    }
+
+    public int getShipsAfloat() {
+        return fleetCount - shipsSunk;
+    }
+
+    // Records a placed ship; returns its fleet index
+    protected int registerShip(Ship ship, int first, int step) {
+        if (fleetCount == fleet.length) {
+            fleet = Arrays.copyOf(fleet, fleetCount * 2);
+            shipStart = Arrays.copyOf(shipStart, fleetCount * 2);
+            shipStep = Arrays.copyOf(shipStep, fleetCount * 2);
+        }
+        fleet[fleetCount] = ship;
+        shipStart[fleetCount] = first;
+        shipStep[fleetCount] = step;
+        longestShip = Math.max(longestShip, ship.getSize());
+
+        if (2 * (fleetCount + 1) > startKeys.length)
+            growStartIndex();
+        putStart(first, fleetCount);
+
+        return fleetCount++;
+    }
+
+    // Counts a hit on ship index; returns HIT or SUNK
+    protected int registerHitOn(int index) {
+        Ship ship = fleet[index];
+        ship.registerHit();
+        if (!ship.isDestroyed())
+            return BoardStatus.HIT;
+
+        shipsSunk++;
+        return BoardStatus.SUNK;
+    }
+
+    // Only ships starting up to longestShip - 1 cells to the left or above can cover cell
+    protected int shipIndexCovering(int cell) {
+        int row = cell / size;
+        int col = cell % size;
+
+        for (int back = 0; back < longestShip; back++) {
+            if (back <= col) {
+                int i = shipStartingAt(cell - back);
+                if (i >= 0 && shipStep[i] == 1 && fleet[i].getSize() > back)
+                    return i;
+            }
+            if (back <= row) {
+                int i = shipStartingAt(cell - back * size);
+                if (i >= 0 && shipStep[i] == size && fleet[i].getSize() > back)
+                    return i;
+            }
+        }
+        return -1;
+    }
+
+    private void putStart(int cell, int index) {
+        int mask = startKeys.length - 1;
+        int slot = startSlot(cell) & mask;
+        while (startKeys[slot] != 0)
+            slot = (slot + 1) & mask;
+        startKeys[slot] = cell + 1;
+        startValues[slot] = index;
+    }
+
+    // fleet index of the ship starting at cell, -1 if none
+    private int shipStartingAt(int cell) {
+        int mask = startKeys.length - 1;
+        int slot = startSlot(cell) & mask;
+        while (startKeys[slot] != 0) {
+            if (startKeys[slot] == cell + 1)
+                return startValues[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int startSlot(int cell) {
+        int h = cell * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    private void growStartIndex() {
+        startKeys = new int[startKeys.length * 2];
+        startValues = new int[startValues.length * 2];
+        for (int i = 0; i < fleetCount; i++)
+            putStart(shipStart[i], i);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Every legal position of one ship length on an empty board.
+ * Responsible for:
+ *  - Enumerating all horizontal and vertical placements once
+ *  - Keeping each placement as a bit mask in BitBoard layout
+ *  - Drawing a placement uniformly from those that still fit
+ *
+ * Tables are cached per (board size, ship length) and shared between
+ * threads; they are never modified after construction.
+ *
+ * Placement index p < horizontalCount is horizontal, the rest vertical.
+ * Very large boards, and oceans that are not a BitBoard, skip the masks
+ * and test cells directly instead.
+ */
+
+package board;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class PlacementTable {
+
+    private static final ConcurrentHashMap<Long, PlacementTable> CACHE = new ConcurrentHashMap<>();
+
+    // above this many words the masks are not worth keeping
+    private static final long MAX_MASK_WORDS = 1L << 20;
+
+    // cheap random draws before falling back to an exact scan
+    private static final int QUICK_DRAWS = 16;
+
+    private final int size;
+    private final int length;
+    private final int span;              // cells a placement can start at along its line
+    private final int horizontalCount;
+    private final int count;
+
+    private final int stride;            // words kept per placement
+    private final long[] masks;          // null on very large boards
+    private final int[] firstWord;
+
+    public static PlacementTable of(int boardSize, int shipLength) {
+        long key = ((long) boardSize << 32) | shipLength;
+        return CACHE.computeIfAbsent(key, k -> new PlacementTable(boardSize, shipLength));
+    }
+
+    private PlacementTable(int size, int length) {
+        this.size = size;
+        this.length = length;
+        this.span = Math.max(0, size - length + 1);
+        this.horizontalCount = size * span;
+        this.count = 2 * horizontalCount;
+
+        //widest placement is vertical: (length - 1) rows apart
+        this.stride = (((length - 1) * size) >>> 6) + 2;
+
+        if ((long) count * stride > MAX_MASK_WORDS) {
+            masks = null;
+            firstWord = null;
+            return;
+        }
+
+        masks = new long[count * stride];
+        firstWord = new int[count];
+
+        for (int p = 0; p < count; p++) {
+            int first = row(p) * size + col(p);
+            int step = isHorizontal(p) ? 1 : size;
+
+            firstWord[p] = first >>> 6;
+            for (int i = 0, bit = first; i < length; i++, bit += step)
+                masks[p * stride + (bit >>> 6) - firstWord[p]] |= 1L << bit;
+        }
+    }
+
+//==================================== PLACEMENTS =================================
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isHorizontal(int p) {
+        return p < horizontalCount;
+    }
+
+    public int row(int p) {
+        return isHorizontal(p) ? p / span : (p - horizontalCount) / size;
+    }
+
+    public int col(int p) {
+        return isHorizontal(p) ? p % span : (p - horizontalCount) % size;
+    }
+
+    public char direction(int p) {
+        return isHorizontal(p) ? 'H' : 'V';
+    }
+
+    // true when placement p overlaps no ship on the board
+    public boolean fits(Ocean ocean, int p) {
+
+        if (masks == null || !(ocean instanceof BitBoard)) {
+            int row = row(p), col = col(p);
+            for (int i = 0; i < length; i++) {
+                if (isHorizontal(p) ? ocean.hasShip(row, col + i) : ocean.hasShip(row + i, col))
+                    return false;
+            }
+            return true;
+        }
+
+        BitBoard board = (BitBoard) ocean;
+        int base = p * stride;
+        int word = firstWord[p];
+        for (int w = 0; w < stride && word + w < board.wordCount(); w++) {
+            if ((board.occupiedWord(word + w) & masks[base + w]) != 0)
+                return false;
+        }
+        return true;
+    }
+
+    // Uniformly chosen placement that still fits; -1 when none is left
+    public int sample(Ocean board, SplittableRandom random) {
+
+        if (count == 0)
+            return -1;
+
+        //sparse boards: a few blind draws almost always succeed
+        for (int i = 0; i < QUICK_DRAWS; i++) {
+            int p = random.nextInt(count);
+            if (fits(board, p))
+                return p;
+        }
+
+        //crowded boards: count what is left and pick one of them
+        int valid = 0;
+        for (int p = 0; p < count; p++) {
+            if (fits(board, p))
+                valid++;
+        }
+        if (valid == 0)
+            return -1;
+
+        int k = random.nextInt(valid);
+        for (int p = 0; p < count; p++) {
+            if (fits(board, p) && k-- == 0)
+                return p;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Static pieces of a rendered board (column header and borders).
+ *
+ * They only depend on the board size and on how many columns are shown,
+ * so they are built once per (size, columns) pair and shared by every
+ * Board instead of being rebuilt on each turn.
+ *
+ * Row labels are right-aligned to the widest row number of the board,
+ * which keeps the classic 10 x 10 layout unchanged.
+ */
+
+package board;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import console.ColumnLabels;
+import console.ConsoleSymbols;
+
+final class RenderCache {
+
+    private static final ConcurrentHashMap<Long, RenderCache> CACHE = new ConcurrentHashMap<>();
+
+    final String header;     // labels of the first `columns` columns
+    final String top;
+    final String middle;
+    final String bottom;
+
+    // pieces for a board of boardSize showing `columns` columns
+    static RenderCache forBoard(int boardSize, int columns) {
+        long key = ((long) boardSize << 32) | columns;
+        return CACHE.computeIfAbsent(key, k -> new RenderCache(boardSize, columns));
+    }
+
+    private RenderCache(int boardSize, int columns) {
+        int labelWidth = rowLabelWidth(boardSize);
+
+        header = buildHeader(boardSize, 0, columns);
+        top = buildBorder(labelWidth, columns, ConsoleSymbols.TOP_LEFT, ConsoleSymbols.T_TOP, ConsoleSymbols.TOP_RIGHT);
+        middle = buildBorder(labelWidth, columns, ConsoleSymbols.T_LEFT, ConsoleSymbols.CROSS, ConsoleSymbols.T_RIGHT);
+        bottom = buildBorder(labelWidth, columns, ConsoleSymbols.BOTTOM_LEFT, ConsoleSymbols.T_BOTTOM, ConsoleSymbols.BOTTOM_RIGHT);
+    }
+
+    // digits of the largest row number
+    static int rowLabelWidth(int boardSize) {
+        return Integer.toString(Math.max(0, boardSize - 1)).length();
+    }
+
+    static StringBuilder appendRowLabel(StringBuilder sb, int boardSize, int row) {
+        String label = Integer.toString(row);
+        for (int i = label.length(); i < rowLabelWidth(boardSize); i++)
+            sb.append(' ');
+        return sb.append(label);
+    }
+
+    //A   B   C   D   E   F   G   H   I   J
+    static String buildHeader(int boardSize, int fromCol, int toCol) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rowLabelWidth(boardSize) + 3; i++)
+            sb.append(' ');
+
+        for (int c = fromCol; c < toCol; c++) {
+            String label = ColumnLabels.label(c);
+            sb.append(label);
+            for (int i = label.length(); i < 4; i++)
+                sb.append(' ');
+        }
+        return sb.toString();
+    }
+
+    //┌───┬───┬───┐  ├───┼───┼───┤  └───┴───┴───┘
+    private static String buildBorder(int labelWidth, int columns, String left, String join, String right) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < labelWidth + 1; i++)
+            sb.append(' ');
+        sb.append(left);
+
+        for (int c = 0; c < columns; c++) {
+            sb.append(ConsoleSymbols.HORIZONTAL).append(ConsoleSymbols.HORIZONTAL).append(ConsoleSymbols.HORIZONTAL);
+
+            if (c < columns - 1) sb.append(join);
+        }
+
+        sb.append(right);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Sparse ocean storage for very large, mostly-empty boards.
+ * Responsible for:
+ *  - Storing ships and attacked cells in 8 x 8 tiles of two longs each
+ *  - Allocating a tile only when a ship or a shot first touches it
+ *
+ * Untouched tiles are empty sea that was never attacked, so memory grows
+ * with the number of ships and shots instead of with the board area.
+ * A 10000 x 10000 ocean with a thousand ships needs well under a megabyte;
+ * BitBoard needs 25 MB for the same board.
+ *
+ * Tiles live in flat long arrays; an open-addressing table maps
+ * tile number -> array index without boxing.
+ *
+ * Selected with -Dseabattle.sparse=true (see Ocean.create).
+ */
+
+package board;
+
+import java.util.Arrays;
+
+import ships.Ship;
+
+public class SparseOcean extends Ocean {
+
+    private static final int TILE_SHIFT = 3;          // 8 cells per tile side
+    private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+
+    private final int tilesPerSide;
+
+    // tile contents, one bit per cell: (row & 7) * 8 + (col & 7)
+    private long[] tileShips = new long[16];
+    private long[] tileHits = new long[16];
+    private int[] tileIds = new int[16];     // tile number of each entry
+    private int tileCount;
+
+    // tile number -> entry index; keys are tile + 1, 0 is empty
+    private int[] tileKeys = new int[32];
+    private int[] tileValues = new int[32];
+
+
+    public SparseOcean(int size) {
+        super(size);
+        tilesPerSide = (size + TILE_MASK) >>> TILE_SHIFT;
+    }
+
+//==================================== SHIP PLACEMENT =================================
+
+    public int tryPlaceShip(Ship ship, int row, int col, char direction) {
+
+        int shipSize = ship.getSize();
+        direction = Character.toUpperCase(direction);
+
+        // 1️ Direction and boundary validation
+        int status = checkPlacement(shipSize, row, col, direction);
+        if (status != BoardStatus.PLACED)
+            return status;
+
+        int dr = direction == 'H' ? 0 : 1;
+        int dc = direction == 'H' ? 1 : 0;
+
+        // 2️ Collision validation
+        for (int i = 0; i < shipSize; i++) {
+            if (hasShip(row + i * dr, col + i * dc))
+                return BoardStatus.OVERLAP;
+        }
+
+        // 3️ Place ship
+        for (int i = 0; i < shipSize; i++) {
+            int r = row + i * dr, c = col + i * dc;
+            int t = tileFor(r, c);    // may grow tileShips, so index after the call
+            tileShips[t] |= bit(r, c);
+        }
+
+        registerShip(ship, row * size + col, direction == 'H' ? 1 : size);
+        return BoardStatus.PLACED;
+    }
+
+//=========================================== ATTACK LOGIC =====================================
+
+    public int tryAttackCell(int row, int col) {
+
+        if (row < 0 || row >= size || col < 0 || col >= size)
+            return BoardStatus.OUT_OF_BOUNDS;
+
+        int t = tileFor(row, col);
+        long mask = bit(row, col);
+
+        if ((tileHits[t] & mask) != 0)
+            return BoardStatus.ALREADY_HIT;
+
+        tileHits[t] |= mask;
+
+        lastHitRow = row;
+        lastHitCol = col;
+
+        if ((tileShips[t] & mask) != 0)
+            return registerHitOn(shipIndexCovering(row * size + col));
+
+        return BoardStatus.MISS;
+    }
+
+//======================================= QUERIES =======================================
+
+    public boolean hasShip(int row, int col) {
+        int t = findTile(tileNumber(row, col));
+        return t >= 0 && (tileShips[t] & bit(row, col)) != 0;
+    }
+
+    public boolean isHit(int row, int col) {
+        int t = findTile(tileNumber(row, col));
+        return t >= 0 && (tileHits[t] & bit(row, col)) != 0;
+    }
+
+    // only touched tiles can hold hits; tiles are in first-touch order, hence the sort
+    public int[] hitCells() {
+        int count = 0;
+        for (int t = 0; t < tileCount; t++)
+            count += Long.bitCount(tileHits[t]);
+
+        int[] cells = new int[count];
+        int n = 0;
+        for (int t = 0; t < tileCount; t++) {
+            int row0 = (tileIds[t] / tilesPerSide) << TILE_SHIFT;
+            int col0 = (tileIds[t] % tilesPerSide) << TILE_SHIFT;
+
+            for (long bits = tileHits[t]; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                cells[n++] = (row0 + (bit >>> TILE_SHIFT)) * size + col0 + (bit & TILE_MASK);
+            }
+        }
+        Arrays.sort(cells);
+        return cells;
+    }
+
+    public void clear() {
+        Arrays.fill(tileKeys, 0);
+        tileCount = 0;
+        super.clear();
+    }
+
+//======================================= TILES =======================================
+
+    private int tileNumber(int row, int col) {
+        return (row >>> TILE_SHIFT) * tilesPerSide + (col >>> TILE_SHIFT);
+    }
+
+    private static long bit(int row, int col) {
+        return 1L << (((row & TILE_MASK) << TILE_SHIFT) | (col & TILE_MASK));
+    }
+
+    // entry index of a tile, -1 when it was never touched
+    private int findTile(int tile) {
+        int mask = tileKeys.length - 1;
+        int slot = tileSlot(tile) & mask;
+        while (tileKeys[slot] != 0) {
+            if (tileKeys[slot] == tile + 1)
+                return tileValues[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // entry index of the tile holding (row, col), allocating an empty one if needed
+    private int tileFor(int row, int col) {
+        int tile = tileNumber(row, col);
+        int t = findTile(tile);
+        if (t >= 0)
+            return t;
+
+        if (tileCount == tileShips.length) {
+            tileShips = Arrays.copyOf(tileShips, tileCount * 2);
+            tileHits = Arrays.copyOf(tileHits, tileCount * 2);
+            tileIds = Arrays.copyOf(tileIds, tileCount * 2);
+        }
+        tileShips[tileCount] = 0L;
+        tileHits[tileCount] = 0L;
+        tileIds[tileCount] = tile;
+
+        if (2 * (tileCount + 1) > tileKeys.length)
+            growTileIndex();
+        putTile(tile, tileCount);
+
+        return tileCount++;
+    }
+
+    private void putTile(int tile, int index) {
+        int mask = tileKeys.length - 1;
+        int slot = tileSlot(tile) & mask;
+        while (tileKeys[slot] != 0)
+            slot = (slot + 1) & mask;
+        tileKeys[slot] = tile + 1;
+        tileValues[slot] = index;
+    }
+
+    private static int tileSlot(int tile) {
+        int h = tile * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    private void growTileIndex() {
+        tileKeys = new int[tileKeys.length * 2];
+        tileValues = new int[tileValues.length * 2];
+        for (int i = 0; i < tileCount; i++)
+            putTile(tileIds[i], i);
+    }
+}
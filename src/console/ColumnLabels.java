@@ -0,0 +1,38 @@
+/*
+ * Column labels for boards of any width.
+ *
+ * Columns are lettered like spreadsheet columns:
+ * A..Z, then AA..AZ, BA..ZZ, then AAA and so on.
+ * Boards up to 26 columns keep the familiar single letters.
+ */
+
+package console;
+
+public class ColumnLabels {
+
+    private ColumnLabels() {
+    }
+
+    // 0 -> A, 25 -> Z, 26 -> AA
+    public static String label(int col) {
+        StringBuilder sb = new StringBuilder(3);
+        for (int n = col + 1; n > 0; n = (n - 1) / 26)
+            sb.append((char) ('A' + (n - 1) % 26));
+        return sb.reverse().toString();
+    }
+
+    // Column index for a label (case-insensitive), or -1 when it is not letters only
+    public static int parse(String label) {
+        if (label.isEmpty() || label.length() > 6)
+            return -1;
+
+        int n = 0;
+        for (int i = 0; i < label.length(); i++) {
+            char ch = Character.toUpperCase(label.charAt(i));
+            if (ch < 'A' || ch > 'Z')
+                return -1;
+            n = n * 26 + (ch - 'A' + 1);
+        }
+        return n - 1;
+    }
+}
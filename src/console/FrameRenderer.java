@@ -0,0 +1,171 @@
+/*
+ * Builds a whole screen ("frame") in one reusable buffer and writes it
+ * with a single call on an unsynchronized channel.
+ *
+ * Purpose:
+ *  - Replace dozens of flushed System.out.println calls per turn
+ *    with one write per frame
+ *  - Optionally send only what changed since the previous frame
+ *
+ * Diff mode treats every flushed frame as a full screen: unchanged lines
+ * are skipped, changed lines are redrawn in place with ANSI cursor moves.
+ * Lines hold color codes and wide symbols, so the diff works per line.
+ * Use it for spectator and replay output (Main --watch), where nothing
+ * else writes to the terminal between frames. The interactive game prints prompts
+ * and errors through System.out between frames, which scrolls the
+ * terminal under the remembered lines, so console() never diffs.
+ *
+ * Not thread-safe; one renderer per output.
+ */
+
+package console;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FrameRenderer {
+
+    private static final String CLEAR_SCREEN = "\u001B[2J\u001B[H";
+    private static final String CLEAR_LINE = "\u001B[K";
+
+    private static FrameRenderer console;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer bytes = ByteBuffer.allocate(16 * 1024);
+
+    private final StringBuilder frame = new StringBuilder(8 * 1024);
+    private final StringBuilder out = new StringBuilder(8 * 1024);
+
+    private boolean diffMode;
+    private List<String> previousLines = new ArrayList<>();
+    private List<String> currentLines = new ArrayList<>();
+
+    public FrameRenderer(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    // Shared renderer for the game terminal; always writes whole frames
+    public static synchronized FrameRenderer console() {
+        if (console == null)
+            console = new FrameRenderer(new FileOutputStream(FileDescriptor.out).getChannel());
+        return console;
+    }
+
+    public void setDiffMode(boolean diffMode) {
+        this.diffMode = diffMode;
+        previousLines.clear();
+    }
+
+//==================================== BUILDING A FRAME =================================
+
+    public FrameRenderer print(String text) {
+        frame.append(text);
+        return this;
+    }
+
+    public FrameRenderer println(String line) {
+        frame.append(line).append('\n');
+        return this;
+    }
+
+    public FrameRenderer println() {
+        frame.append('\n');
+        return this;
+    }
+
+//==================================== OUTPUT =================================
+
+    // Writes the buffered frame in one go and starts a new one
+    public void flush() {
+        if (frame.length() == 0)
+            return;
+
+        //keep ordering with anything already printed through System.out
+        System.out.flush();
+
+        if (diffMode) {
+            buildDiff();
+            write(out);
+        } else {
+            write(frame);
+        }
+        frame.setLength(0);
+    }
+
+    private void buildDiff() {
+        out.setLength(0);
+        currentLines.clear();
+
+        int start = 0;
+        for (int i = 0; i < frame.length(); i++) {
+            if (frame.charAt(i) == '\n') {
+                currentLines.add(frame.substring(start, i));
+                start = i + 1;
+            }
+        }
+        if (start < frame.length())
+            currentLines.add(frame.substring(start));
+
+        if (previousLines.isEmpty())
+            out.append(CLEAR_SCREEN);
+
+        for (int i = 0; i < currentLines.size(); i++) {
+            String line = currentLines.get(i);
+            if (i < previousLines.size() && previousLines.get(i).equals(line))
+                continue;
+            moveTo(i).append(line).append(CLEAR_LINE);
+        }
+
+        //frame got shorter: blank the leftover lines
+        for (int i = currentLines.size(); i < previousLines.size(); i++)
+            moveTo(i).append(CLEAR_LINE);
+
+        moveTo(currentLines.size());
+
+        List<String> swap = previousLines;
+        previousLines = currentLines;
+        currentLines = swap;
+    }
+
+    private StringBuilder moveTo(int line) {
+        return out.append("\u001B[").append(line + 1).append(";1H");
+    }
+
+    private void write(CharSequence text) {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+
+        try {
+            while (true) {
+                CoderResult result = encoder.encode(chars, bytes, true);
+                if (result.isOverflow()) {
+                    drain();
+                    continue;
+                }
+                encoder.flush(bytes);
+                drain();
+                return;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining())
+            channel.write(bytes);
+        bytes.clear();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Scripted moves for bots, load tests and batch play.
+ * Responsible for:
+ *  - Reading a move file or stdin through one byte buffer
+ *  - Parsing one move per line without regex, Strings or boxing
+ *
+ * A move names a row (digits) and a column (letters, as in ColumnLabels)
+ * in either order; ship placements end with the direction letter:
+ *
+ *   3B       shot at row 3, column B
+ *   B3       the same shot
+ *   A0H      ship from row 0, column A, horizontal
+ *   0 a v    case and spaces do not matter
+ *   # note   comments and blank lines are skipped
+ *
+ * A UTF-8 byte order mark at the start of the file is skipped.
+ * A line that does not parse is skipped and counted (getRejected), so a
+ * broken move costs its own line and nothing else.
+ */
+
+package console;
+
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class MoveReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_DIGITS = 9;
+    private static final int MAX_LETTERS = 6;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private boolean started;        // byte order mark already checked
+
+    // last move read
+    private int row;
+    private int col;
+    private char direction;
+
+    private long moves;
+    private long rejected;
+
+    public MoveReader(InputStream in) {
+        this.in = in;
+    }
+
+    // "-" reads stdin
+    public static MoveReader open(String file) throws IOException {
+        return new MoveReader(file.equals("-") ? System.in : new FileInputStream(file));
+    }
+
+//==================================== PARSING =================================
+
+    // Reads the next well-formed move; withDirection for ship placements.
+    // Throws EOFException when the script has no moves left.
+    public void next(boolean withDirection) throws IOException {
+        if (!started)
+            skipByteOrderMark();
+
+        while (true) {
+            int status = parseLine(withDirection);
+            if (status > 0) {
+                moves++;
+                return;
+            }
+            if (status < 0)
+                rejected++;
+        }
+    }
+
+    // 1: move parsed, 0: nothing on the line, -1: malformed
+    private int parseLine(boolean withDirection) throws IOException {
+
+        int value = 0, digits = 0, digitRuns = 0;
+        long firstRun = 0;      // 0AH puts MAX_LETTERS + 1 letters here, past int range
+        int firstRunLength = 0, lastRunLength = 0, letterRuns = 0;
+        int lastLetter = 0;
+        boolean inDigits = false, inLetters = false, comment = false, bad = false;
+
+        int b = read();
+        if (b < 0)
+            throw new EOFException("Move script ended");
+
+        for (; b >= 0 && b != '\n'; b = read()) {
+            if (comment || bad)
+                continue;
+
+            if (b >= '0' && b <= '9') {
+                if (!inDigits && ++digitRuns > 1)
+                    bad = true;
+                inDigits = true;
+                inLetters = false;
+                value = value * 10 + (b - '0');
+                bad |= ++digits > MAX_DIGITS;
+            } else if ((b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z')) {
+                int letter = (b & ~0x20) - 'A' + 1;
+                if (!inLetters) {
+                    letterRuns++;
+                    lastRunLength = 0;
+                }
+                inLetters = true;
+                inDigits = false;
+                lastLetter = letter;
+                lastRunLength++;
+                //longer runs reject the line, so stop adding before firstRun overflows
+                if (letterRuns == 1 && ++firstRunLength <= MAX_LETTERS + 1)
+                    firstRun = firstRun * 26 + letter;
+                bad |= firstRunLength > MAX_LETTERS + 1;
+            } else if (b == '#') {
+                comment = true;
+            } else if (b == ' ' || b == '\t' || b == ',' || b == '\r') {
+                inDigits = false;
+                inLetters = false;
+            } else {
+                bad = true;
+            }
+        }
+
+        if (bad)
+            return -1;
+        if (digitRuns == 0 && letterRuns == 0)
+            return 0;
+        if (digitRuns != 1)
+            return -1;
+
+        int column;
+        if (!withDirection) {
+            if (letterRuns != 1 || firstRunLength > MAX_LETTERS)
+                return -1;
+            column = (int) firstRun;
+        } else if (letterRuns == 2 && lastRunLength == 1 && firstRunLength <= MAX_LETTERS) {
+            column = (int) firstRun;        // A0H
+        } else if (letterRuns == 1 && firstRunLength >= 2) {
+            column = (int) ((firstRun - lastLetter) / 26);   // 0AH: the last letter is the direction
+        } else {
+            return -1;
+        }
+
+        if (withDirection) {
+            char dir = (char) ('A' + lastLetter - 1);
+            if (dir != 'H' && dir != 'V')
+                return -1;
+            direction = dir;
+        }
+
+        row = value;
+        col = column - 1;
+        return 1;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        started = true;
+        int b = read();
+        if (b == 0xEF) {
+            read();
+            read();
+        } else if (b >= 0) {
+            pos--;
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        //bytes are signed: keep 0x80..0xFF (BOM, UTF-8 comments) apart from -1
+        return buffer[pos++] & 0xFF;
+    }
+
+//==================================== RESULTS =================================
+
+    public int getRow() {
+        return row;
+    }
+
+    // 0-based column
+    public int getCol() {
+        return col;
+    }
+
+    // 'H' or 'V', placements only
+    public char getDirection() {
+        return direction;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Headless Sea Battle game engine.
+ * Responsible for:
+ *  - Setting up a random fleet for both sides
+ *  - Alternating shots between two move sources until one fleet is sunk
+ *  - Returning a compact GameResult
+ *
+ * There is no console I/O and no pausing, so games run at full CPU speed.
+ * An engine reuses its boards between games and is not thread-safe;
+ * give each thread its own instance and its own random stream.
+ */
+
+package engine;
+
+import java.util.SplittableRandom;
+
+import board.Board;
+import board.BoardStatus;
+import events.AIMoveEvent;
+import events.Events;
+import metrics.Metrics;
+import ships.Fleet;
+import ships.Ship;
+
+public class GameEngine {
+
+    // shot outcomes reported to move sources, same codes as the board
+    public static final int MISS = BoardStatus.MISS;
+    public static final int HIT = BoardStatus.HIT;
+    public static final int SUNK = BoardStatus.SUNK;
+
+    private final int boardSize;
+    private final Board board1;
+    private final Board board2;
+    private final SplittableRandom random;
+
+    // per game counters, reset by play()
+    private int hits1, hits2;
+    private int destroyed1, destroyed2;
+
+    public GameEngine(int boardSize) {
+        this(boardSize, new SplittableRandom());
+    }
+
+    // random is used for fleet placement only and must not be shared
+    public GameEngine(int boardSize, SplittableRandom random) {
+        this.boardSize = boardSize;
+        this.board1 = new Board(boardSize);
+        this.board2 = new Board(boardSize);
+        this.random = random;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+//==================================== GAME LOOP =================================
+
+    // Plays one full game; first shoots first and owns board 1
+    public GameResult play(MoveSource first, MoveSource second) {
+        return play(first, second, random);
+    }
+
+    // Same, with both fleets placed from the given stream
+    public GameResult play(MoveSource first, MoveSource second, SplittableRandom fleets) {
+
+        int fleetSize = setupRandomBoard(board1, fleets);
+        setupRandomBoard(board2, fleets);
+
+        first.newGame(boardSize);
+        second.newGame(boardSize);
+
+        hits1 = hits2 = destroyed1 = destroyed2 = 0;
+        int turns = 0;
+
+        //alternative attacks until a fleet is gone
+        while (true) {
+
+            turns++;
+            if (fire(first, board2, 1) && destroyed1 == fleetSize)
+                return new GameResult(1, turns, hits1, hits2, destroyed1, destroyed2);
+
+            turns++;
+            if (fire(second, board1, 2) && destroyed2 == fleetSize)
+                return new GameResult(2, turns, hits1, hits2, destroyed1, destroyed2);
+        }
+    }
+
+    // One attack turn; returns true when the shot hit a ship
+    private boolean fire(MoveSource shooter, Board target, int player) {
+
+        int maxAttempts = boardSize * boardSize;
+
+        //same as Player.takeAttackTurn: ask again until the shot is valid
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+
+            int cell = nextShot(shooter);
+            int row = cell / boardSize;
+            int col = cell % boardSize;
+
+            int outcome = target.tryAttackCell(row, col);
+
+            if (BoardStatus.isRejected(outcome))
+                continue;
+
+            Metrics.SHOTS.increment();
+
+            if (outcome == MISS) {
+                shooter.shotResult(cell, MISS, 0);
+                return false;
+            }
+
+            if (player == 1) hits1++; else hits2++;
+            Metrics.HITS.increment();
+
+            if (outcome == SUNK) {
+                if (player == 1) destroyed1++; else destroyed2++;
+                Metrics.SHIPS_SUNK.increment();
+                int ship = target.getShipIndex(row, col);
+                int length = target.getPlacedShip(ship).getSize();
+                int first = target.getPlacedRow(ship) * boardSize + target.getPlacedCol(ship);
+                int step = target.getPlacedDirection(ship) == 'H' ? 1 : boardSize;
+                shooter.shipRevealed(first, step, length);
+                shooter.shotResult(cell, SUNK, length);
+            } else {
+                shooter.shotResult(cell, HIT, 0);
+            }
+            return true;
+        }
+
+        throw new IllegalStateException("Move source keeps choosing cells that cannot be attacked.");
+    }
+
+    // source.nextShot(), timed into the AI move latency metric and
+    // recorded as an AI move event when profiling is on
+    public static int nextShot(MoveSource source) {
+        long start = System.nanoTime();
+        if (!Events.ENABLED) {
+            int cell = source.nextShot();
+            Metrics.AI_MOVE_LATENCY.recordSince(start);
+            return cell;
+        }
+
+        AIMoveEvent event = new AIMoveEvent();
+        event.begin();
+        int cell = source.nextShot();
+        event.strategy = source.getClass().getSimpleName();
+        event.cell = cell;
+        event.commit();
+        Metrics.AI_MOVE_LATENCY.recordSince(start);
+        return cell;
+    }
+
+//==================================== FLEET SETUP =================================
+
+    // Clears the board and places a new fleet at random; returns the fleet size
+    private int setupRandomBoard(Board board, SplittableRandom random) {
+
+        board.clear();
+        Ship[] fleet = Fleet.forBoard(boardSize);
+
+        if (!board.placeRandomly(fleet, 0, random))
+            throw new IllegalStateException("Fleet does not fit on a " + boardSize + "x" + boardSize + " board.");
+        return fleet.length;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Outcome of one headless game played by GameEngine.
+ *
+ * Player 1 is the move source that shot first.
+ */
+
+package engine;
+
+public final class GameResult {
+
+    private final int winner;
+    private final int turns;
+    private final int hits1;
+    private final int hits2;
+    private final int shipsDestroyed1;
+    private final int shipsDestroyed2;
+
+    public GameResult(int winner, int turns, int hits1, int hits2, int shipsDestroyed1, int shipsDestroyed2) {
+        this.winner = winner;
+        this.turns = turns;
+        this.hits1 = hits1;
+        this.hits2 = hits2;
+        this.shipsDestroyed1 = shipsDestroyed1;
+        this.shipsDestroyed2 = shipsDestroyed2;
+    }
+
+    // 1 or 2
+    public int getWinner() {
+        return winner;
+    }
+
+    // attack turns taken by both players together
+    public int getTurns() {
+        return turns;
+    }
+
+    public int getHits(int player) {
+        return player == 1 ? hits1 : hits2;
+    }
+
+    public int getShipsDestroyed(int player) {
+        return player == 1 ? shipsDestroyed1 : shipsDestroyed2;
+    }
+
+    @Override
+    public String toString() {
+        return "winner=" + winner + " turns=" + turns
+                + " hits=" + hits1 + "/" + hits2
+                + " shipsDestroyed=" + shipsDestroyed1 + "/" + shipsDestroyed2;
+    }
+}
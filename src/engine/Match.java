@@ -0,0 +1,220 @@
+/*
+ * One game between two players, driven one move at a time.
+ * Responsible for:
+ *  - Holding both boards and fleets
+ *  - Tracking the phase: PLACEMENT, P1_TURN, P2_TURN, FINISHED
+ *  - Accepting placements and shots, answering at once with a BoardStatus code
+ *
+ * Nothing here waits for input. Whoever owns the match (a console loop,
+ * a server connection, a batch simulation) calls submitPlacement and
+ * submitShot when a move arrives, so one thread can drive many matches.
+ *
+ * Players are 1 and 2; player 1 shoots first. Both place their fleets,
+ * in fleet order, during PLACEMENT, and turns alternate after every
+ * accepted shot, as in the console game.
+ *
+ * Every accepted move is also recorded in a compact GameRecord (see
+ * getRecord), ready to be appended to a GameLog.
+ *
+ * Not thread-safe; callers serialize access per match.
+ */
+
+package engine;
+
+import java.util.SplittableRandom;
+
+import board.Board;
+import board.BoardStatus;
+import metrics.Metrics;
+import replay.GameRecord;
+import ships.Fleet;
+import ships.Ship;
+
+public class Match {
+
+    //=====================PHASES=====================
+
+    public static final int PLACEMENT = 0;
+    public static final int P1_TURN = 1;
+    public static final int P2_TURN = 2;
+    public static final int FINISHED = 3;
+
+    private final int boardSize;
+    private final Board[] boards;        // boards[p - 1] belongs to player p
+    private final Ship[][] fleets;
+    private final int[] placed = new int[2];
+    private final int[] hits = new int[2];
+    private final int[] destroyed = new int[2];
+    private final SplittableRandom random;
+    private final GameRecord record;
+
+    private int phase = PLACEMENT;
+    private int winner;
+    private int turns;
+
+    public Match(int boardSize, SplittableRandom random) {
+        this.boardSize = boardSize;
+        this.boards = new Board[] { new Board(boardSize), new Board(boardSize) };
+        this.fleets = new Ship[][] { Fleet.forBoard(boardSize), Fleet.forBoard(boardSize) };
+        this.random = random;
+        this.record = new GameRecord(boardSize);
+    }
+
+//==================================== STATE =================================
+
+    public int getPhase() {
+        return phase;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // Board owned by player (1 or 2): their ships, and the shots they received
+    public Board getBoard(int player) {
+        return boards[player - 1];
+    }
+
+    // Ships to place, in placement order
+    public Ship[] getFleet(int player) {
+        return fleets[player - 1].clone();
+    }
+
+    // Next ship player has to place, null once their fleet is down
+    public Ship nextShipToPlace(int player) {
+        int p = player - 1;
+        return placed[p] < fleets[p].length ? fleets[p][placed[p]] : null;
+    }
+
+    // ships player has placed so far; also the fleet index of the next one
+    public int getShipsPlaced(int player) {
+        return placed[player - 1];
+    }
+
+    // 0 until the match is FINISHED
+    public int getWinner() {
+        return winner;
+    }
+
+    // accepted shots by both players together
+    public int getTurns() {
+        return turns;
+    }
+
+    public int getHits(int player) {
+        return hits[player - 1];
+    }
+
+    public int getShipsDestroyed(int player) {
+        return destroyed[player - 1];
+    }
+
+    // every accepted move so far, plus the result once FINISHED
+    public GameRecord getRecord() {
+        return record;
+    }
+
+    public static String phaseName(int phase) {
+        switch (phase) {
+            case PLACEMENT: return "PLACEMENT";
+            case P1_TURN: return "P1_TURN";
+            case P2_TURN: return "P2_TURN";
+            case FINISHED: return "FINISHED";
+            default: return "UNKNOWN(" + phase + ")";
+        }
+    }
+
+//==================================== PLACEMENT =================================
+
+    // Places player's next ship; PLACED or the reason it was rejected
+    public int submitPlacement(int player, int row, int col, char direction) {
+        if (phase != PLACEMENT || nextShipToPlace(player) == null)
+            return BoardStatus.WRONG_PHASE;
+
+        int p = player - 1;
+        Ship ship = fleets[p][placed[p]];
+        int status = boards[p].tryPlaceShip(ship, row, col, direction);
+
+        Metrics.PLACEMENT_ATTEMPTS.increment();
+        if (status != BoardStatus.PLACED)
+            Metrics.PLACEMENT_RETRIES.increment();
+
+        if (status == BoardStatus.PLACED) {
+            record.placement(player, ship, row, col, direction);
+            placed[p]++;
+            startIfPlaced();
+        }
+        return status;
+    }
+
+    // Places every ship player has left at random; PLACED, or OVERLAP when they
+    // cannot fit around the ships placed by hand (nothing is placed then)
+    public int placeRemaining(int player) {
+        if (phase != PLACEMENT || nextShipToPlace(player) == null)
+            return BoardStatus.WRONG_PHASE;
+
+        int p = player - 1;
+        Board board = boards[p];
+        if (!board.placeRandomly(fleets[p], placed[p], random))
+            return BoardStatus.OVERLAP;
+
+        //the ships keep fleet order on the board
+        for (; placed[p] < fleets[p].length; placed[p]++) {
+            int i = placed[p];
+            record.placement(player, fleets[p][i], board.getPlacedRow(i), board.getPlacedCol(i), board.getPlacedDirection(i));
+        }
+
+        startIfPlaced();
+        return BoardStatus.PLACED;
+    }
+
+    private void startIfPlaced() {
+        if (placed[0] == fleets[0].length && placed[1] == fleets[1].length)
+            phase = P1_TURN;
+    }
+
+//==================================== ATTACK =================================
+
+    // player fires at the opponent's board; MISS, HIT, SUNK or the reason it was rejected
+    public int submitShot(int player, int row, int col) {
+        if (phase == PLACEMENT || phase == FINISHED)
+            return BoardStatus.WRONG_PHASE;
+        if (phase != (player == 1 ? P1_TURN : P2_TURN))
+            return BoardStatus.NOT_YOUR_TURN;
+
+        int p = player - 1;
+        int status = boards[1 - p].tryAttackCell(row, col);
+
+        if (BoardStatus.isRejected(status))
+            return status;
+
+        record.shot(player, row, col, status);
+        turns++;
+        Metrics.SHOTS.increment();
+        if (status != BoardStatus.MISS) {
+            hits[p]++;
+            Metrics.HITS.increment();
+        }
+        if (status == BoardStatus.SUNK)
+            Metrics.SHIPS_SUNK.increment();
+
+        if (status == BoardStatus.SUNK && ++destroyed[p] == fleets[1 - p].length) {
+            phase = FINISHED;
+            winner = player;
+            record.end(winner);
+        } else {
+            phase = player == 1 ? P2_TURN : P1_TURN;
+        }
+        return status;
+    }
+
+    // player leaves; the opponent wins unless the match is already over
+    public void resign(int player) {
+        if (phase == FINISHED)
+            return;
+
+        phase = FINISHED;
+        winner = 3 - player;
+        record.end(winner);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Something that can choose shots in a headless game.
+ *
+ * Cells are packed as (row * boardSize + col) so a move is a single int.
+ * The engine reports the outcome of every accepted shot back to the
+ * source, which is all an AI needs to know about the opponent's board.
+ */
+
+package engine;
+
+import java.util.SplittableRandom;
+
+public interface MoveSource {
+
+    // Called once before every game
+    void newGame(int boardSize);
+
+    // Replaces the source's random stream, so a reused source plays a game
+    // exactly like a new one built on that stream. Sources that use no
+    // randomness ignore it.
+    default void reseed(SplittableRandom random) {
+    }
+
+    // Next cell to attack, packed as row * boardSize + col
+    int nextShot();
+
+    // Outcome of an accepted shot: GameEngine.MISS, HIT or SUNK.
+    // sunkSize is the length of the ship just destroyed, 0 otherwise.
+    void shotResult(int cell, int outcome, int sunkSize);
+
+    // Called just before shotResult reports SUNK: the sunk ship covers
+    // length cells from firstCell, step 1 (across) or boardSize (down).
+    // Sunk ships are shown on the opponent's view, so this is fair to know.
+    default void shipRevealed(int firstCell, int step, int length) {
+    }
+}
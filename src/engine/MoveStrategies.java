@@ -0,0 +1,40 @@
+/*
+ * Finds MoveStrategy implementations with ServiceLoader.
+ *
+ * Providers are declared in module-info.java (provides engine.MoveStrategy
+ * with ...) and, for class-path runs, in META-INF/services. A strategy
+ * packaged in its own jar is picked up without touching this project.
+ */
+
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+public final class MoveStrategies {
+
+    private MoveStrategies() {
+    }
+
+    // new instance of the named strategy, or null when no provider has that name
+    public static MoveStrategy create(String name) {
+        for (ServiceLoader.Provider<MoveStrategy> provider : providers()) {
+            MoveStrategy strategy = provider.get();
+            if (strategy.name().equals(name))
+                return strategy;
+        }
+        return null;
+    }
+
+    public static List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (ServiceLoader.Provider<MoveStrategy> provider : providers())
+            names.add(provider.get().name());
+        return names;
+    }
+
+    private static List<ServiceLoader.Provider<MoveStrategy>> providers() {
+        return ServiceLoader.load(MoveStrategy.class).stream().toList();
+    }
+}
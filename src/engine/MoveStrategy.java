@@ -0,0 +1,27 @@
+/*
+ * Pluggable shot selection: the service interface for AI strategies.
+ *
+ * A strategy sees the opponent's board only through an Observation and
+ * answers with one packed cell (row * boardSize + col). Implementations
+ * are found with ServiceLoader (see MoveStrategies and module-info), need
+ * a public no-argument constructor, and serve one game at a time.
+ *
+ * chooseShot runs once per move and must not allocate: size scratch
+ * arrays in newGame. StrategySource adapts a strategy to the engine.
+ */
+
+package engine;
+
+import java.util.SplittableRandom;
+
+public interface MoveStrategy {
+
+    // name used to pick the strategy, e.g. on the tournament command line
+    String name();
+
+    // Called before every game; random is the strategy's own stream
+    void newGame(int boardSize, SplittableRandom random);
+
+    // an UNKNOWN cell of view
+    int chooseShot(Observation view);
+}
@@ -0,0 +1,30 @@
+/*
+ * Read-only view of the opponent's board, as a MoveStrategy sees it.
+ *
+ * Cells are packed as (row * boardSize + col). A cell is UNKNOWN until
+ * it is fired at; a hit becomes SUNK once the game reveals the ship it
+ * belonged to.
+ */
+
+package engine;
+
+public interface Observation {
+
+    int UNKNOWN = 0;
+    int MISS = 1;
+    int HIT = 2;     // hit, ship not sunk yet
+    int SUNK = 3;
+
+    int boardSize();
+
+    // UNKNOWN, MISS, HIT or SUNK
+    int cellState(int cell);
+
+    // ships of this length not sunk yet
+    int shipsAfloat(int length);
+
+    // hits on ships that are not sunk yet
+    int liveHits();
+
+    int shotsFired();
+}
@@ -0,0 +1,81 @@
+/*
+ * The Observation a StrategySource keeps up to date from shot results.
+ *
+ * One byte per cell plus the number of ships afloat per length. All
+ * arrays are sized in reset(), so updates and reads never allocate.
+ */
+
+package engine;
+
+import java.util.Arrays;
+
+import ships.Fleet;
+import ships.Ship;
+
+final class ObservedBoard implements Observation {
+
+    private int size;
+    private byte[] state = new byte[0];
+    private int[] afloat = new int[0];
+    private int liveHits;
+    private int shots;
+
+    void reset(int boardSize) {
+        size = boardSize;
+        if (state.length != size * size)
+            state = new byte[size * size];
+        else
+            Arrays.fill(state, (byte) UNKNOWN);
+
+        afloat = new int[size + 1];
+        for (Ship ship : Fleet.forBoard(size)) {
+            if (ship.getSize() <= size)
+                afloat[ship.getSize()]++;
+        }
+        liveHits = 0;
+        shots = 0;
+    }
+
+    void record(int cell, int outcome) {
+        shots++;
+        if (outcome == GameEngine.MISS) {
+            state[cell] = MISS;
+        } else {
+            state[cell] = HIT;
+            liveHits++;
+        }
+    }
+
+    // the ship just sunk: length cells from first, step 1 or size
+    void reveal(int first, int step, int length) {
+        for (int i = 0, c = first; i < length; i++, c += step) {
+            if (state[c] == HIT)
+                liveHits--;
+            state[c] = SUNK;
+        }
+        if (length < afloat.length && afloat[length] > 0)
+            afloat[length]--;
+    }
+
+//======================================= OBSERVATION =======================================
+
+    public int boardSize() {
+        return size;
+    }
+
+    public int cellState(int cell) {
+        return state[cell];
+    }
+
+    public int shipsAfloat(int length) {
+        return length < afloat.length ? afloat[length] : 0;
+    }
+
+    public int liveHits() {
+        return liveHits;
+    }
+
+    public int shotsFired() {
+        return shots;
+    }
+}
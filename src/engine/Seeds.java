@@ -0,0 +1,54 @@
+/*
+ * Random streams derived from one master seed.
+ * Responsible for:
+ *  - An independent SplittableRandom for every (game, role) pair
+ *  - The master seed of a run (-Dseabattle.seed, random when unset)
+ *
+ * A stream depends only on the master seed, the game number and the
+ * role - not on the thread that asks or on the order of the requests -
+ * so any single game of a parallel run of millions can be replayed on
+ * its own. Streams share no state, so threads never contend on them.
+ */
+
+package engine;
+
+import java.util.SplittableRandom;
+
+public final class Seeds {
+
+    //=====================ROLES=====================
+
+    public static final int FLEETS = 0;      // ship placement for both boards
+    public static final int PLAYER_1 = 1;    // first player or strategy A
+    public static final int PLAYER_2 = 2;    // second player or strategy B
+
+    private static final int ROLES = 4;
+
+    private final long master;
+
+    public Seeds(long master) {
+        this.master = master;
+    }
+
+    // -Dseabattle.seed=N, or a fresh random seed when it is not set
+    public static long masterSeed() {
+        Long seed = Long.getLong("seabattle.seed");
+        return seed != null ? seed : new SplittableRandom().nextLong();
+    }
+
+    public long getMaster() {
+        return master;
+    }
+
+    // same game and role, same stream
+    public SplittableRandom stream(long game, int role) {
+        return new SplittableRandom(mix(master + mix(game * ROLES + role)));
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
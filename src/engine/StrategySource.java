@@ -0,0 +1,53 @@
+/*
+ * Runs a MoveStrategy as a MoveSource.
+ * Responsible for:
+ *  - Keeping the strategy's Observation current from shot results
+ *  - Handing the strategy its random stream every game
+ *
+ * Plugged into GameEngine or Tournament like any built-in AI.
+ */
+
+package engine;
+
+import java.util.SplittableRandom;
+
+public class StrategySource implements MoveSource {
+
+    private final MoveStrategy strategy;
+    private final ObservedBoard view = new ObservedBoard();
+    private SplittableRandom random;
+
+    public StrategySource(MoveStrategy strategy, SplittableRandom random) {
+        this.strategy = strategy;
+        this.random = random;
+    }
+
+    public MoveStrategy getStrategy() {
+        return strategy;
+    }
+
+    public Observation getObservation() {
+        return view;
+    }
+
+    public void newGame(int boardSize) {
+        view.reset(boardSize);
+        strategy.newGame(boardSize, random);
+    }
+
+    public int nextShot() {
+        return strategy.chooseShot(view);
+    }
+
+    public void shotResult(int cell, int outcome, int sunkSize) {
+        view.record(cell, outcome);
+    }
+
+    public void shipRevealed(int firstCell, int step, int length) {
+        view.reveal(firstCell, step, length);
+    }
+
+    public void reseed(SplittableRandom random) {
+        this.random = random;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Plays many headless games between two strategies on all cores.
+ *
+ * The game range is split recursively on a fork/join pool. Every leaf
+ * owns its GameEngine, its two move sources and its random streams,
+ * so workers share no mutable state; leaf totals are merged on join.
+ *
+ * Every game draws its fleets and both players' streams from Seeds:
+ * game n of a run depends only on the seed and n, so the same seed plays
+ * the same games on any number of cores, and replay() plays any one of
+ * them again on its own. Strategies with a time budget (montecarlo)
+ * can still differ from run to run.
+ */
+
+package engine;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+public class Tournament {
+
+    private static final long MIN_GAMES_PER_TASK = 1024;
+
+    private final int boardSize;
+    private final Function<SplittableRandom, MoveSource> playerA;
+    private final Function<SplittableRandom, MoveSource> playerB;
+    private final ForkJoinPool pool;
+
+    // players are factories so that every worker builds its own instances
+    public Tournament(int boardSize,
+                      Function<SplittableRandom, MoveSource> playerA,
+                      Function<SplittableRandom, MoveSource> playerB) {
+        this(boardSize, playerA, playerB, ForkJoinPool.commonPool());
+    }
+
+    public Tournament(int boardSize,
+                      Function<SplittableRandom, MoveSource> playerA,
+                      Function<SplittableRandom, MoveSource> playerB,
+                      ForkJoinPool pool) {
+        this.boardSize = boardSize;
+        this.playerA = playerA;
+        this.playerB = playerB;
+        this.pool = pool;
+    }
+
+    public TournamentResult run(long games, long seed) {
+        long leaves = Math.max(1, pool.getParallelism() * 8L);
+        long threshold = Math.max(MIN_GAMES_PER_TASK, games / leaves);
+
+        return pool.invoke(new Games(0, games, threshold, new Seeds(seed)));
+    }
+
+    // Game number `game` of run(games, seed), played again on the calling thread
+    public GameResult replay(long seed, long game) {
+        Seeds seeds = new Seeds(seed);
+        GameEngine engine = new GameEngine(boardSize);
+        MoveSource a = playerA.apply(seeds.stream(game, Seeds.PLAYER_1));
+        MoveSource b = playerB.apply(seeds.stream(game, Seeds.PLAYER_2));
+        return play(engine, a, b, seeds, game);
+    }
+
+    // A and B take turns at shooting first; the result's winner is 1 or 2 in shooting order
+    private static GameResult play(GameEngine engine, MoveSource a, MoveSource b, Seeds seeds, long game) {
+        a.reseed(seeds.stream(game, Seeds.PLAYER_1));
+        b.reseed(seeds.stream(game, Seeds.PLAYER_2));
+
+        SplittableRandom fleets = seeds.stream(game, Seeds.FLEETS);
+        return (game & 1) == 0 ? engine.play(a, b, fleets) : engine.play(b, a, fleets);
+    }
+
+//==================================== WORKERS =================================
+
+    private class Games extends RecursiveTask<TournamentResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final long threshold;
+        private final transient Seeds seeds;
+
+        Games(long from, long to, long threshold, Seeds seeds) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.seeds = seeds;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+
+            if (to - from <= threshold)
+                return playAll();
+
+            long mid = (from + to) >>> 1;
+            Games right = new Games(mid, to, threshold, seeds);
+            Games left = new Games(from, mid, threshold, seeds);
+
+            right.fork();
+            TournamentResult leftResult = left.compute();
+            return leftResult.merge(right.join());
+        }
+
+        private TournamentResult playAll() {
+
+            //built once per leaf, reseeded for every game
+            GameEngine engine = new GameEngine(boardSize);
+            MoveSource a = playerA.apply(seeds.stream(from, Seeds.PLAYER_1));
+            MoveSource b = playerB.apply(seeds.stream(from, Seeds.PLAYER_2));
+
+            long winsA = 0, winsB = 0, turns = 0;
+
+            for (long game = from; game < to; game++) {
+
+                GameResult result = play(engine, a, b, seeds, game);
+                boolean aFirst = (game & 1) == 0;
+
+                if ((result.getWinner() == 1) == aFirst) winsA++; else winsB++;
+                turns += result.getTurns();
+            }
+
+            return new TournamentResult(to - from, winsA, winsB, turns);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Totals of a Tournament between two strategies, A and B.
+ *
+ * Results are immutable; partial results from parallel workers
+ * are combined with merge() instead of updating shared counters.
+ */
+
+package engine;
+
+public final class TournamentResult {
+
+    private final long games;
+    private final long winsA;
+    private final long winsB;
+    private final long totalTurns;
+
+    public TournamentResult(long games, long winsA, long winsB, long totalTurns) {
+        this.games = games;
+        this.winsA = winsA;
+        this.winsB = winsB;
+        this.totalTurns = totalTurns;
+    }
+
+    public TournamentResult merge(TournamentResult other) {
+        return new TournamentResult(games + other.games,
+                winsA + other.winsA,
+                winsB + other.winsB,
+                totalTurns + other.totalTurns);
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWinsA() {
+        return winsA;
+    }
+
+    public long getWinsB() {
+        return winsB;
+    }
+
+    public double getWinRateA() {
+        return games == 0 ? 0 : (double) winsA / games;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games=%d winsA=%d (%.2f%%) winsB=%d avgTurns=%.2f",
+                games, winsA, 100 * getWinRateA(), winsB, getAverageTurns());
+    }
+}
@@ -0,0 +1,22 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("seabattle.AIMove")
+@Label("AI Move")
+@Category("Sea Battle")
+@Description("Time a move source spent choosing its next shot")
+@StackTrace(false)
+public class AIMoveEvent extends jdk.jfr.Event {
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Cell")
+    @Description("Chosen cell, row * board size + column")
+    public int cell;
+}
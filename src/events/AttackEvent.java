@@ -0,0 +1,22 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("seabattle.Attack")
+@Label("Attack")
+@Category("Sea Battle")
+@StackTrace(false)
+public class AttackEvent extends jdk.jfr.Event {
+
+    @Label("Row")
+    public int row;
+
+    @Label("Column")
+    public int col;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,29 @@
+/*
+ * Java Flight Recorder events of the Sea Battle game.
+ * Responsible for:
+ *  - The switch that turns the events on (-Dseabattle.jfr=true)
+ *
+ * Events:
+ *  - seabattle.Turn       one attack turn of a console player
+ *  - seabattle.AIMove     one nextShot() of an AI or other move source
+ *  - seabattle.Placement  one ship placement attempt on a Board
+ *  - seabattle.Attack     one attack on a Board and its outcome
+ *  - seabattle.Render     drawing both boards side by side
+ *
+ * Every call site tests ENABLED first. It is a static final, so with the
+ * flag off the JIT drops the event code entirely. With the flag on,
+ * record with the standard JDK tooling, e.g.
+ *
+ *   java -Dseabattle.jfr=true -XX:StartFlightRecording=filename=match.jfr ...
+ *   jfr print --categories "Sea Battle" match.jfr
+ */
+
+package events;
+
+public final class Events {
+
+    public static final boolean ENABLED = Boolean.getBoolean("seabattle.jfr");
+
+    private Events() {
+    }
+}
@@ -0,0 +1,30 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("seabattle.Placement")
+@Label("Ship Placement")
+@Category("Sea Battle")
+@Description("One attempt to place a ship; rejected attempts are retries")
+@StackTrace(false)
+public class PlacementEvent extends jdk.jfr.Event {
+
+    @Label("Ship Length")
+    public int shipLength;
+
+    @Label("Row")
+    public int row;
+
+    @Label("Column")
+    public int col;
+
+    @Label("Direction")
+    public char direction;
+
+    @Label("Status")
+    public String status;
+}
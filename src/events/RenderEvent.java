@@ -0,0 +1,21 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("seabattle.Render")
+@Label("Render Boards")
+@Category("Sea Battle")
+@Description("Drawing both boards side by side into the frame buffer")
+@StackTrace(false)
+public class RenderEvent extends jdk.jfr.Event {
+
+    @Label("Board Size")
+    public int boardSize;
+
+    @Label("Rows Shown")
+    public int view;
+}
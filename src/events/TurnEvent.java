@@ -0,0 +1,27 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("seabattle.Turn")
+@Label("Turn")
+@Category("Sea Battle")
+@Description("One attack turn of a console player, from the banner to the result")
+@StackTrace(false)
+public class TurnEvent extends jdk.jfr.Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Row")
+    public int row;
+
+    @Label("Column")
+    public int col;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -5,6 +5,17 @@
  *  - Creating players
  *  - Initializing ships
  *  - Running the game loop
+ *  - Running headless AI tournaments (--tournament) and replaying
+ *    one of their games (--tournament-game)
+ *  - Starting the multiplayer server (--server) and checking it with
+ *    bots over loopback (--loopback)
+ *  - Saving a game between turns and resuming it (--resume)
+ *  - Playing moves piped in from a file or stdin (--script)
+ *  - Logging finished games (-Dseabattle.log), replaying one of them
+ *    (--replay) and playing it back turn by turn (--watch)
+ *  - Packing a game log into a replay archive (--archive) and showing
+ *    an archived game at any turn (--archive-game)
+ *  - Exporting metrics to a file (-Dseabattle.metrics)
  *
  * Game logic is delegated to Player and Board classes.
  */
@@ -12,34 +23,164 @@
 
 package main;
 
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
-
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import board.Board;
+import board.BoardStatus;
+import console.ColumnLabels;
 import console.ConsoleColors;
 import console.ConsoleSymbols;
-import exceptions.ShipPlacementException;
+import console.FrameRenderer;
+import console.MoveReader;
+import engine.MoveSource;
+import engine.MoveStrategies;
+import engine.MoveStrategy;
+import engine.Seeds;
+import engine.StrategySource;
+import engine.Tournament;
+import engine.TournamentResult;
+import metrics.Metrics;
+import metrics.MetricsExporter;
 import player.AIPlayer;
+import player.HeatmapAIPlayer;
+import player.MatchRecorder;
+import player.MatchSnapshot;
+import player.MonteCarloAIPlayer;
 import player.Player;
-
-import ships.DestroyerShip;
+import replay.ArchiveWriter;
+import replay.GameLog;
+import replay.GameLogReader;
+import replay.GameRecord;
+import replay.Replay;
+import replay.ReplayArchive;
+import server.BotClient;
+import server.GameServer;
+
+import ships.Fleet;
 import ships.Ship;
-import ships.Submarine;
-import ships.BattleShip;
-import ships.CarrierShip;
 
 public class Main {
 
-    private static final int BOARD_SIZE = 10;
+    // -Dseabattle.size=N plays on an N x N ocean (default 10)
+    private static final int BOARD_SIZE = Integer.getInteger("seabattle.size", 10);
+
+    // CarrierShip is 5 long; smaller boards cannot hold it. From 5 up random
+    // placement always succeeds, since Board redraws a fleet that dead-ends
+    private static final int MIN_BOARD_SIZE = 5;
+    // cells are packed as row * size + col in an int, fine up to 46340 per
+    // side; 10000 keeps a dense board's two bit sets at 12.5 MB each
+    private static final int MAX_BOARD_SIZE = 10_000;
+
+    private static final int DEFAULT_PORT = 7070;
+
+    // -Dseabattle.ai=name picks the computer of interactive games: random (default), heatmap or montecarlo
+    private static final String COMPUTER_AI = System.getProperty("seabattle.ai", "random");
+
+    // -Dseabattle.save=file is where SAVE writes the game (default seabattle.save)
+    private static final String SAVE_FILE = System.getProperty("seabattle.save", "seabattle.save");
+
+    // -Dseabattle.log=file appends every finished game, served or played here, to a binary game log
+    private static final String LOG_FILE = System.getProperty("seabattle.log");
 
     public static void main(String[] args) {
 
+        // -Dseabattle.metrics=file appends a metrics snapshot every
+        // -Dseabattle.metrics.interval seconds (default 10) and at exit
+        String metricsFile = System.getProperty("seabattle.metrics");
+        if (metricsFile != null) {
+            long seconds = Long.getLong("seabattle.metrics.interval", 10);
+            new MetricsExporter(Path.of(metricsFile), seconds * 1000).start();
+        }
+
+        if (BOARD_SIZE < MIN_BOARD_SIZE || BOARD_SIZE > MAX_BOARD_SIZE) {
+            System.out.println("Board size must be between " + MIN_BOARD_SIZE + " and " + MAX_BOARD_SIZE);
+            return;
+        }
+
+        // java main.Main --tournament [games] [seed] [strategyA] [strategyB]
+        if (args.length > 0 && args[0].equals("--tournament")) {
+            runTournament(args);
+            return;
+        }
+
+        // java main.Main --tournament-game <seed> <game> [strategyA] [strategyB]
+        if (args.length > 2 && args[0].equals("--tournament-game")) {
+            replayTournamentGame(args);
+            return;
+        }
+
+        // java main.Main --replay <log> <game> [turn]
+        if (args.length > 2 && args[0].equals("--replay")) {
+            replayGame(args);
+            return;
+        }
+
+        // java main.Main --watch <log> <game>
+        if (args.length > 2 && args[0].equals("--watch")) {
+            watchGame(args);
+            return;
+        }
+
+        // java main.Main --archive <log> <dir>
+        if (args.length > 2 && args[0].equals("--archive")) {
+            archiveLog(args);
+            return;
+        }
+
+        // java main.Main --archive-game <dir> <game> [turn]
+        if (args.length > 2 && args[0].equals("--archive-game")) {
+            showArchivedGame(args);
+            return;
+        }
+
         Scanner sc = new Scanner(System.in);
 
-        boolean MANUAL_PLACEMENT = true;
+        // java main.Main --server [port]
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer(args);
+            return;
+        }
+
+        // java main.Main --loopback [matches]
+        if (args.length > 0 && args[0].equals("--loopback")) {
+            runLoopback(args);
+            return;
+        }
+
+        // java main.Main --script [file|-] [1|2]
+        if (args.length > 0 && args[0].equals("--script")) {
+            runScript(args);
+            return;
+        }
+
+        // java main.Main --resume [file]
+        if (args.length > 0 && args[0].equals("--resume")) {
+            resumeGame(sc, args.length > 1 ? args[1] : SAVE_FILE);
+            return;
+        }
+
+        // large oceans carry several fleets, too many to place by hand
+        boolean MANUAL_PLACEMENT = Fleet.copies(BOARD_SIZE) == 1;
 
         displayRules();
+
+        // fleets and the computer's shots come from -Dseabattle.seed when set
+        Seeds seeds = new Seeds(Seeds.masterSeed());
+        SplittableRandom fleets = seeds.stream(0, Seeds.FLEETS);
+        System.out.println("Game seed: " + seeds.getMaster());
 //============================================================ASK FOR NO OF PLAYERS PLAYING=======================================================
         
         int choice = getChoice(sc);
@@ -66,7 +207,7 @@ public class Main {
         if (MANUAL_PLACEMENT) {
             player1.placeAllShips();
         } else {
-            setupRandomBoard(player1);
+            setupRandomBoard(player1, fleets);
         }
 
         System.out.println("\nFinal board for " + p1Name + ":");
@@ -98,7 +239,7 @@ public class Main {
             if (MANUAL_PLACEMENT) {
                 player2.placeAllShips();
             } else {
-                setupRandomBoard(player2);
+                setupRandomBoard(player2, fleets);
             }
             System.out.println("\nFinal board for " + p2Name + ":");
             player2.displayOwnBoard();
@@ -109,11 +250,11 @@ public class Main {
             // Human vs Computer
             System.out.println("\nYou are playing against the COMPUTER!");
 
-            player2 = new AIPlayer("COMPUTER", BOARD_SIZE);
+            player2 = createComputer(seeds.stream(0, Seeds.PLAYER_2));
             addShips(player2);
 
             // use random ship placement for AI
-            setupRandomBoard(player2);
+            setupRandomBoard(player2, fleets);
         }
 
         
@@ -144,29 +285,86 @@ public class Main {
         System.out.println(ConsoleSymbols.FULL_BLOCK.repeat(62));
 
 
+        playGame(sc, player1, player2, 1, LOG_FILE == null ? null : new MatchRecorder(player1, player2));
+    }
+
+//========================================================================== HELPER METHODS ==========================================================
+
+    //============GAME LOOP===============
+    // Alternates attacks starting with player `next` (1 or 2) until someone wins or the game is saved.
+    // sc is null for scripted play, which never pauses. A finished game goes to the game log
+    // when recorder is set; saved games are not logged.
+    public static void playGame(Scanner sc, Player player1, Player player2, int next, MatchRecorder recorder) {
+
         //this runs until a winner is declared
         //alternative attacks
         while (true) {
 
-            player1.takeAttackTurn(player2);
-            if (player1.hasWon()) {
-            	displayVictoryScreen(player1.getName(),player1.getHitCount(),player1.getShipsDestroyed());
-                break;
+            if (next == 1) {
+                player1.takeAttackTurn(player2);
+                if (recorder != null)
+                    recorder.shotTaken(1, player2);
+                if (player1.hasWon()) {
+                	displayVictoryScreen(player1.getName(),player1.getHitCount(),player1.getShipsDestroyed());
+                    logGame(recorder, 1);
+                    break;
+                }
+                next = 2;
+            } else {
+                player2.takeAttackTurn(player1);
+                if (recorder != null)
+                    recorder.shotTaken(2, player1);
+                if (player2.hasWon()) {
+                	displayVictoryScreen(player2.getName(),player2.getHitCount(),player2.getShipsDestroyed());
+                    logGame(recorder, 2);
+                    break;
+                }
+                next = 1;
+            }
+
+            if (sc != null && pauseOrSave(sc)) {
+                saveGame(new MatchSnapshot(player1, player2, next));
+                return;
             }
-            pause(sc);
+        }
+    }
 
+    private static void logGame(MatchRecorder recorder, int winner) {
+        if (recorder == null)
+            return;
 
-            player2.takeAttackTurn(player1);
-            if (player2.hasWon()) {
-            	displayVictoryScreen(player2.getName(),player2.getHitCount(),player2.getShipsDestroyed());
-                break;
-            }
-            pause(sc);
+        try (GameLog log = new GameLog(Path.of(LOG_FILE))) {
+            log.append(recorder.finish(winner));
+            System.out.println("Game logged to " + LOG_FILE + ".");
+        } catch (IOException e) {
+            System.out.println("Could not log the game: " + e.getMessage());
         }
+    }
 
+    //============SAVE AND RESUME===============
+    public static void saveGame(MatchSnapshot snapshot) {
+        try {
+            snapshot.save(Path.of(SAVE_FILE));
+            System.out.println("Game saved to " + SAVE_FILE + ". Resume it with --resume " + SAVE_FILE);
+        } catch (IOException e) {
+            System.out.println("Could not save the game: " + e.getMessage());
+        }
     }
 
-//========================================================================== HELPER METHODS ==========================================================
+    public static void resumeGame(Scanner sc, String file) {
+
+        MatchSnapshot snapshot;
+        try {
+            snapshot = MatchSnapshot.load(Path.of(file));
+        } catch (IOException e) {
+            System.out.println("Could not load " + file + ": " + e.getMessage());
+            return;
+        }
+
+        System.out.println("Resuming " + snapshot.getPlayer1().getName() + " vs " + snapshot.getPlayer2().getName());
+        //the shots before the save were never recorded, so a resumed game is not logged
+        playGame(sc, snapshot.getPlayer1(), snapshot.getPlayer2(), snapshot.getNextPlayer(), null);
+    }
 
     //============RULES===============
     public static void displayRules() {
@@ -187,7 +385,7 @@ public class Main {
     	System.out.println("---------------------------------------------------------------");
     	System.out.println("|                          RULES                             |            --------------------------------------------------------------");
     	System.out.println("---------------------------------------------------------------           |                     SHIP DETAILS                            |");
-    	System.out.println("| Board Size        | 10 x 10                                |            --------------------------------------------------------------");
+    	System.out.println("| Board Size        | " + String.format("%-39s", BOARD_SIZE + " x " + BOARD_SIZE) + "|            --------------------------------------------------------------");
     	System.out.println("| Players           | 2                                      |            | Ship Type     | Size | Count per Player | Symbol            |");
     	System.out.println("| Turns             | Alternate                              |            --------------------------------------------------------------");
     	System.out.println("| Hit Symbol        | o                                      |            | Destroyer     |  2   |        1         |   "
@@ -208,72 +406,425 @@ public class Main {
 
     //==========ADDING SHIPS TO PLAYER===========
     public static void addShips(Player player) {
-        player.addShip(new DestroyerShip());
-        player.addShip(new Submarine());
-        player.addShip(new Submarine());
-        player.addShip(new BattleShip());
-        player.addShip(new CarrierShip());
+        for (Ship ship : Fleet.forBoard(BOARD_SIZE)) {
+            player.addShip(ship);
+        }
     }
     
     
     //=============DEFAULT BOARDS MAKING===============
-    public static void setupRandomBoard(Player player) {
+    public static void setupRandomBoard(Player player, SplittableRandom random) {
+        player.placeAllShipsRandomly(random);
+    }
 
-        Random random = new Random();
+    
+    //=============SCRIPTED PLAY===============
+    // Every human move is one line of the script (see MoveReader); mode 1 is
+    // player vs player with both players' moves interleaved, mode 2 is vs the computer
+    public static void runScript(String[] args) {
+
+        String file = args.length > 1 ? args[1] : "-";
+        int mode = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        MoveReader script;
+        try {
+            script = MoveReader.open(file);
+        } catch (IOException e) {
+            System.out.println("Could not open " + file + ": " + e.getMessage());
+            return;
+        }
 
-        for (Ship ship : List.of(new DestroyerShip(),new Submarine(),new Submarine(),new BattleShip(),new CarrierShip())) 
-        {
+        Seeds seeds = new Seeds(Seeds.masterSeed());
+        SplittableRandom fleets = seeds.stream(0, Seeds.FLEETS);
+        boolean manualPlacement = Fleet.copies(BOARD_SIZE) == 1;
+
+        Player player1 = new Player("PLAYER 1", BOARD_SIZE);
+        Player player2 = mode == 1
+                ? new Player("PLAYER 2", BOARD_SIZE)
+                : createComputer(seeds.stream(0, Seeds.PLAYER_2));
+
+        try {
+            for (Player player : new Player[] { player1, player2 }) {
+                addShips(player);
+                if (player instanceof AIPlayer) {
+                    setupRandomBoard(player, fleets);
+                    continue;
+                }
+
+                player.setScript(script);
+                if (manualPlacement)
+                    player.placeAllShips();
+                else
+                    setupRandomBoard(player, fleets);
+            }
+
+            playGame(null, player1, player2, 1, LOG_FILE == null ? null : new MatchRecorder(player1, player2));
+        } catch (UncheckedIOException e) {
+            System.out.println("Script ended before the game was over.");
+        }
+
+        System.out.println("Script: " + script.getMoves() + " moves, " + script.getRejected() + " lines skipped");
+    }
+
+    //=============MULTIPLAYER SERVER===============
+    public static void runServer(String[] args) {
+
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+
+        try (GameLog log = LOG_FILE == null ? null : new GameLog(Path.of(LOG_FILE));
+             GameServer server = new GameServer(port, BOARD_SIZE, log)) {
+            //Ctrl-C and SIGTERM skip the try-with-resources; the hook still writes the logged games
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> stopServer(server, log), "server-shutdown"));
+
+            System.out.println("Sea Battle server on port " + server.getPort() + ", board " + BOARD_SIZE + "x" + BOARD_SIZE);
+            server.serve();
+        } catch (IOException e) {
+            System.out.println("Server stopped: " + e.getMessage());
+        }
+    }
+
+    // closes the server first, so the games it forfeits still reach the log
+    private static void stopServer(GameServer server, GameLog log) {
+        try {
+            server.close();
+            if (log != null)
+                log.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the game log: " + e.getMessage());
+        }
+    }
+
+    // Starts a server on a free port and plays matches between bots over loopback
+    public static void runLoopback(String[] args) {
+
+        int matches = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        SplittableRandom random = new SplittableRandom(Seeds.masterSeed());
+
+        //the server closes first, which ends serve() and lets the executor finish
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+             GameServer server = new GameServer(0, BOARD_SIZE)) {
 
-            boolean placed = false;
+            threads.execute(() -> {
+                try {
+                    server.serve();
+                } catch (IOException e) {
+                    System.out.println("Server stopped: " + e.getMessage());
+                }
+            });
+
+            List<Future<String>> bots = new ArrayList<>();
+            for (int i = 0; i < 2 * matches; i++)
+                bots.add(threads.submit(new BotClient("localhost", server.getPort(), "bot" + i, random.split())));
 
-            while (!placed) {
+            int wins = 0, losses = 0, failed = 0;
+            for (Future<String> bot : bots) {
                 try {
-                    int row = random.nextInt(10);
-                    int col = random.nextInt(10);
-                    char direction = random.nextBoolean() ? 'H' : 'V';
+                    String end = bot.get();
+                    if (end.equals("END WIN"))
+                        wins++;
+                    else if (end.equals("END LOSE"))
+                        losses++;
+                    else
+                        failed++;
+                } catch (ExecutionException e) {
+                    System.out.println("Bot failed: " + e.getCause().getMessage());
+                    failed++;
+                }
+            }
+
+            //the last match may still be finishing on the server side
+            for (int i = 0; i < 100 && server.getActiveMatches() > 0; i++)
+                Thread.sleep(10);
+
+            System.out.println("Loopback: " + matches + " matches, " + wins + " wins, " + losses + " losses, "
+                    + failed + " failed, " + server.getActiveMatches() + " still active");
+            System.out.println(wins == matches && losses == matches && server.getActiveMatches() == 0 ? "OK" : "FAILED");
+        } catch (IOException e) {
+            System.out.println("Could not start the server: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //=============HEADLESS AI TOURNAMENT===============
+    public static void runTournament(String[] args) {
+
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : Seeds.masterSeed();
+
+        String strategyA = args.length > 3 ? args[3] : "heatmap";
+        String strategyB = args.length > 4 ? args[4] : "random";
+
+        Tournament tournament = new Tournament(BOARD_SIZE,
+                random -> createAI(strategyA, "A", random),
+                random -> createAI(strategyB, "B", random));
+
+        long start = System.nanoTime();
+        TournamentResult result = tournament.run(games, seed);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(strategyA + " (A) vs " + strategyB + " (B), seed " + seed);
+        System.out.println(result);
+        System.out.println("Time: " + millis + " ms");
+    }
+
+    // one game of a tournament, identical to the one run() played
+    public static void replayTournamentGame(String[] args) {
+
+        long seed = Long.parseLong(args[1]);
+        long game = Long.parseLong(args[2]);
+
+        String strategyA = args.length > 3 ? args[3] : "heatmap";
+        String strategyB = args.length > 4 ? args[4] : "random";
+
+        Tournament tournament = new Tournament(BOARD_SIZE,
+                random -> createAI(strategyA, "A", random),
+                random -> createAI(strategyB, "B", random));
 
-                    player.placeShipDirectly(ship, row, col, direction);
-                    placed = true;
+        //even games: A shoots first
+        String first = (game & 1) == 0 ? "A" : "B";
+        System.out.println("Game " + game + " of seed " + seed + ", " + first + " shoots first");
+        System.out.println(tournament.replay(seed, game));
+    }
+
+    //=============GAME LOG REPLAY===============
+    // Game number `game` (from 0) of a -Dseabattle.log file: its shots up to `turn`
+    // (default: all of them) and both boards at that point
+    public static void replayGame(String[] args) {
+
+        Path logFile = Path.of(args[1]);
+        long game = Long.parseLong(args[2]);
+
+        Replay replay = readLoggedGame(logFile, game);
+        if (replay == null)
+            return;
+
+        int shots = replay.getShotCount();
+        int turn = args.length > 3 ? Math.min(Integer.parseInt(args[3]), shots) : shots;
 
-                } catch (ShipPlacementException ignored) {
-                    // Retry silently until a valid position is found
+        System.out.println("Game " + game + " of " + logFile + ", " + replay.getBoardSize() + "x" + replay.getBoardSize()
+                + ", " + shots + " shots, winner: " + (replay.getWinner() == 0 ? "none" : "player " + replay.getWinner()));
+        for (int t = 0; t < turn; t++)
+            System.out.println("Turn " + (t + 1) + ": player " + replay.getShotPlayer(t) + " fires at "
+                    + ColumnLabels.label(replay.getShotCol(t)) + replay.getShotRow(t) + ", "
+                    + BoardStatus.name(replay.getShotResult(t)));
+
+        for (int player = 1; player <= 2; player++) {
+            System.out.println("\nPlayer " + player + " after turn " + turn + ":");
+            replay.boardAt(player, turn).displayOwnBoard();
+        }
+    }
+
+    // Plays a logged game back, one frame per turn every -Dseabattle.watch.delay ms (default 250).
+    // Nothing else prints between frames, so on a terminal only the lines a shot changed are redrawn.
+    public static void watchGame(String[] args) {
+
+        Path logFile = Path.of(args[1]);
+        long game = Long.parseLong(args[2]);
+        long delay = Long.getLong("seabattle.watch.delay", 250);
+
+        Replay replay = readLoggedGame(logFile, game);
+        if (replay == null)
+            return;
+
+        FrameRenderer screen = new FrameRenderer(new FileOutputStream(FileDescriptor.out).getChannel());
+        //piped output gets whole frames, not cursor moves
+        screen.setDiffMode(System.console() != null);
+
+        Board[] boards = { replay.boardAt(1, 0), replay.boardAt(2, 0) };
+        int shots = replay.getShotCount();
+
+        try {
+            for (int t = 0; t <= shots; t++) {
+                String move = "Placement";
+                if (t > 0) {
+                    int player = replay.getShotPlayer(t - 1);
+                    int row = replay.getShotRow(t - 1);
+                    int col = replay.getShotCol(t - 1);
+                    boards[2 - player].tryAttackCell(row, col);
+                    move = "Turn " + t + ": player " + player + " fires at " + ColumnLabels.label(col) + row
+                            + ", " + BoardStatus.name(replay.getShotResult(t - 1));
                 }
+
+                screen.println("Game " + game + " of " + logFile + ", turn " + t + " of " + shots);
+                screen.println(move);
+                renderBoards(screen, boards[0], boards[1]);
+                if (t == shots)
+                    screen.println(replay.getWinner() == 0 ? "No winner" : "Player " + replay.getWinner() + " wins");
+                screen.flush();
+
+                if (t < shots)
+                    Thread.sleep(delay);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
-    
+    // both fleets side by side, the same layout as a player's turn
+    private static void renderBoards(FrameRenderer screen, Board board1, Board board2) {
+        String gap = "        ";
+        int size = board1.getSize();
+
+        screen.println();
+        screen.println(String.format("%-" + board1.getTopBorder().length() + "s", "  PLAYER 1") + gap + "  PLAYER 2");
+        screen.println(board1.getOwnBoardHeader() + gap + board2.getOwnBoardHeader());
+        screen.println(board1.getTopBorder() + gap + board2.getTopBorder());
+        for (int row = 0; row < size; row++) {
+            screen.println(board1.getOwnBoardRow(row) + gap + board2.getOwnBoardRow(row));
+            if (row < size - 1)
+                screen.println(board1.getMiddleBorder() + gap + board2.getMiddleBorder());
+        }
+        screen.println(board1.getBottomBorder() + gap + board2.getBottomBorder());
+        screen.println();
+    }
+
+    // game number `game` (from 0) of a game log, or null after printing why it is missing
+    private static Replay readLoggedGame(Path logFile, long game) {
+        try (GameLogReader reader = new GameLogReader(logFile)) {
+            GameRecord record = null;
+            for (long i = 0; i <= game; i++) {
+                record = reader.next();
+                if (record == null) {
+                    System.out.println("No game " + game + ": " + logFile + " holds " + i + " games");
+                    return null;
+                }
+            }
+            return new Replay(record);
+        } catch (IOException e) {
+            System.out.println("Could not read " + logFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    //=============REPLAY ARCHIVE===============
+    // Appends every game of a -Dseabattle.log file to the archive directory as a new segment
+    public static void archiveLog(String[] args) {
+
+        Path logFile = Path.of(args[1]);
+        Path directory = Path.of(args[2]);
+
+        try {
+            long imported = ArchiveWriter.importLog(logFile, directory);
+            ReplayArchive archive = new ReplayArchive(directory);
+
+            long[] wins = new long[3];
+            long shots = 0;
+            for (long game = 0; game < archive.getGameCount(); game++) {
+                wins[archive.getWinner(game)]++;
+                shots += archive.getShotCount(game);
+            }
+
+            System.out.println("Archived " + imported + " games from " + logFile + " into " + directory);
+            System.out.println(archive.getGameCount() + " games in the archive: player 1 won " + wins[1]
+                    + ", player 2 won " + wins[2] + ", unfinished " + wins[0] + ", avgShots="
+                    + String.format("%.2f", archive.getGameCount() == 0 ? 0.0 : (double) shots / archive.getGameCount()));
+        } catch (IOException e) {
+            System.out.println("Could not archive " + logFile + ": " + e.getMessage());
+        }
+    }
+
+    // both boards of one archived game after `turn` shots (default: the end of the game)
+    public static void showArchivedGame(String[] args) {
+
+        Path directory = Path.of(args[1]);
+        long game = Long.parseLong(args[2]);
+
+        ReplayArchive archive;
+        try {
+            archive = new ReplayArchive(directory);
+        } catch (IOException e) {
+            System.out.println("Could not open the archive " + directory + ": " + e.getMessage());
+            return;
+        }
+        if (game < 0 || game >= archive.getGameCount()) {
+            System.out.println("No game " + game + ": the archive holds " + archive.getGameCount() + " games");
+            return;
+        }
+
+        int shots = archive.getShotCount(game);
+        int turn = args.length > 3 ? Math.min(Integer.parseInt(args[3]), shots) : shots;
+
+        System.out.println("Game " + game + ", turn " + turn + " of " + shots + ", winner: "
+                + (archive.getWinner(game) == 0 ? "none" : "player " + archive.getWinner(game)));
+        for (int player = 1; player <= 2; player++) {
+            System.out.println("\nPlayer " + player + ":");
+            archive.boardAt(game, player, turn).displayOwnBoard();
+        }
+    }
+
+    // AI variants by name: random, heatmap, montecarlo, then any MoveStrategy provider
+    public static MoveSource createAI(String strategy, String name, SplittableRandom random) {
+        return createAI(strategy, name, BOARD_SIZE, random);
+    }
+
+    // the same for any board size; the benchmarks build their AIs through it
+    public static MoveSource createAI(String strategy, String name, int boardSize, SplittableRandom random) {
+        switch (strategy) {
+            case "random":
+                return new AIPlayer(name, boardSize, random);
+            case "heatmap":
+                return new HeatmapAIPlayer(name, boardSize, random);
+            case "montecarlo":
+                return new MonteCarloAIPlayer(name, boardSize, random);
+            default:
+                MoveStrategy provided = MoveStrategies.create(strategy);
+                if (provided == null)
+                    throw new IllegalArgumentException("Unknown AI strategy: " + strategy
+                            + " (built in: random, heatmap, montecarlo; providers: "
+                            + String.join(", ", MoveStrategies.names()) + ")");
+                return new StrategySource(provided, random);
+        }
+    }
+
+    // the interactive opponent picked with -Dseabattle.ai; it thinks during the human's turn
+    public static AIPlayer createComputer(SplittableRandom random) {
+        MoveSource ai = createAI(COMPUTER_AI, "COMPUTER", random);
+        if (ai instanceof AIPlayer computer)
+            return computer;
+        throw new IllegalArgumentException("AI strategy " + COMPUTER_AI + " cannot play interactive games");
+    }
+
     public static void pause(Scanner sc) {
         System.out.println("\nPress ENTER to continue...");
         sc.nextLine();
     }
+
+    // true when the player typed SAVE instead of just pressing ENTER
+    public static boolean pauseOrSave(Scanner sc) {
+        System.out.println("\nPress ENTER to continue (or type SAVE to save and quit)...");
+        return sc.nextLine().trim().equalsIgnoreCase("SAVE");
+    }
     
     public static void displayVictoryScreen(String winnerName,
             int hits,
             int shipsDestroyed) {
 
-    	System.out.println();
-    	System.out.println("==============================================================");
-    	System.out.println("||                                                          ||");
-    	System.out.println("||                  "+ConsoleSymbols.PARTY_POPPER+"  V I C T O R Y  "+ConsoleSymbols.PARTY_POPPER+"                   ||");
-    	System.out.println("||                                                          ||");
-    	System.out.println("==============================================================");
-    	System.out.println();
-
-    	System.out.println("                "+ConsoleSymbols.TROPHY+" WINNER : " + winnerName.toUpperCase());
-    	System.out.println();
-
-    	System.out.println("--------------------------------------------------------------");
-    	System.out.println("|                    FINAL STATISTICS                        |");
-    	System.out.println("--------------------------------------------------------------");
-    	System.out.println("| Total Hits        | " + hits);
-    	System.out.println("| Ships Destroyed   | " + shipsDestroyed);
-    	System.out.println("--------------------------------------------------------------");
-    	System.out.println();
-
-    	System.out.println("          Thank you for playing SEA BATTLE!");
-    	System.out.println("          May the seas favor you next time as well");
-    	System.out.println();
+    	FrameRenderer screen = FrameRenderer.console();
+
+    	screen.println();
+    	screen.println("==============================================================");
+    	screen.println("||                                                          ||");
+    	screen.println("||                  "+ConsoleSymbols.PARTY_POPPER+"  V I C T O R Y  "+ConsoleSymbols.PARTY_POPPER+"                   ||");
+    	screen.println("||                                                          ||");
+    	screen.println("==============================================================");
+    	screen.println();
+
+    	screen.println("                "+ConsoleSymbols.TROPHY+" WINNER : " + winnerName.toUpperCase());
+    	screen.println();
+
+    	screen.println("--------------------------------------------------------------");
+    	screen.println("|                    FINAL STATISTICS                        |");
+    	screen.println("--------------------------------------------------------------");
+    	screen.println("| Total Hits        | " + hits);
+    	screen.println("| Ships Destroyed   | " + shipsDestroyed);
+    	screen.println("--------------------------------------------------------------");
+    	screen.println();
+
+    	screen.println("          Thank you for playing SEA BATTLE!");
+    	screen.println("          May the seas favor you next time as well");
+    	screen.println();
+    	screen.flush();
     }
     
     public static int getChoice(Scanner sc)
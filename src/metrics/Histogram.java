@@ -0,0 +1,124 @@
+/*
+ * Lock-free histogram of non-negative long values (latencies in nanoseconds).
+ * Responsible for:
+ *  - Counting values into logarithmic buckets without locks
+ *  - Producing snapshots with count, mean, max and percentiles
+ *
+ * Values below 4 get a bucket each; above that every power of two is
+ * split into 4 buckets, so a reported percentile is at most 25% above
+ * the real value. 248 buckets cover the whole long range.
+ *
+ * Buckets are LongAdders: threads recording at the same time update
+ * different cells instead of contending on one counter.
+ */
+
+package metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Histogram {
+
+    private static final int SUB_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) << SUB_BITS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    // negative values count as 0
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        buckets[bucketOf(value)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    // nanoseconds since startNanos (a System.nanoTime() reading)
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        return new Snapshot(counts, count, sum.sum(), max.get());
+    }
+
+//======================================= BUCKETS =======================================
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int k = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (k - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return ((k - SUB_BITS + 1) << SUB_BITS) + sub;
+    }
+
+    // largest value that falls into bucket
+    static long bucketTop(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+
+        int k = (bucket >>> SUB_BITS) + SUB_BITS - 1;
+        long step = 1L << (k - SUB_BITS);
+        return (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1)) + 1) * step - 1;
+    }
+
+//======================================= SNAPSHOT =======================================
+
+    // Counts at one moment; other threads may keep recording meanwhile
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        // upper bound of the bucket holding the given fraction (0..1) of values
+        public long percentile(double fraction) {
+            if (count == 0)
+                return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank)
+                    return Math.min(bucketTop(i), max);
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Process-wide registry of always-on counters and histograms.
+ * Responsible for:
+ *  - Named LongAdder counters and latency histograms
+ *  - The metrics the game itself records
+ *
+ * Recording never takes a lock: counters are LongAdders and histograms
+ * are lock-free (see Histogram). Call sites keep the returned objects in
+ * static finals, so the registry map is only touched at class init.
+ *
+ * MetricsExporter writes snapshots of everything in here to a file.
+ */
+
+package metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Metrics {
+
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    //=====================GAME METRICS=====================
+
+    // accepted shots in every kind of game (console, server, headless)
+    public static final LongAdder SHOTS = counter("shots");
+    public static final LongAdder HITS = counter("hits");
+    public static final LongAdder SHIPS_SUNK = counter("ships.sunk");
+
+    public static final LongAdder PLACEMENT_ATTEMPTS = counter("placement.attempts");
+    public static final LongAdder PLACEMENT_RETRIES = counter("placement.retries");
+
+    // ShipPlacementException, CellAlreadyHitException and InvalidCoordinateException from Board
+    public static final LongAdder BOARD_EXCEPTIONS = counter("board.exceptions");
+
+    // nanoseconds
+    public static final Histogram TURN_LATENCY = histogram("turn.nanos");
+    public static final Histogram AI_MOVE_LATENCY = histogram("ai.move.nanos");
+
+    private Metrics() {
+    }
+
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    // current values by name, sorted
+    public static Map<String, Long> counterValues() {
+        Map<String, Long> values = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    public static Map<String, Histogram.Snapshot> histogramSnapshots() {
+        Map<String, Histogram.Snapshot> snapshots = new TreeMap<>();
+        HISTOGRAMS.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Background thread that appends metric snapshots to a file.
+ * Responsible for:
+ *  - Writing every counter and histogram once per interval
+ *  - Turning counter deltas into per-second rates
+ *  - One last snapshot when the JVM shuts down
+ *
+ * Each snapshot is one JSON object on its own line:
+ *
+ *   {"time":"2026-01-01T12:00:00Z","seconds":10.0,
+ *    "counters":{"hits":412,"shots":1800,...},
+ *    "rates":{"hits":41.2,"shots":180.0,...},
+ *    "hitRatio":0.2289,
+ *    "histograms":{"ai.move.nanos":{"count":900,"mean":51234.5,
+ *        "p50":49151,"p90":98303,"p99":131071,"max":140022},...}}
+ *
+ * "seconds" is the time covered by the rates. Started by Main when
+ * -Dseabattle.metrics=file is set.
+ */
+
+package metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class MetricsExporter implements Closeable {
+
+    private final Path file;
+    private final long intervalMillis;
+    private final Thread thread;
+    private final Thread shutdownHook;
+
+    private Map<String, Long> previous = new HashMap<>();
+    private long previousNanos = System.nanoTime();
+
+    public MetricsExporter(Path file, long intervalMillis) {
+        this.file = file;
+        this.intervalMillis = intervalMillis;
+        this.thread = Thread.ofPlatform().daemon().name("metrics-export").unstarted(this::run);
+        this.shutdownHook = new Thread(this::exportQuietly, "metrics-final-export");
+    }
+
+    public void start() {
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Thread.sleep(intervalMillis);
+                exportQuietly();
+            }
+        } catch (InterruptedException e) {
+            //closed
+        }
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (IOException e) {
+            System.err.println("Could not write metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Appends one snapshot line now
+    public synchronized void export() throws IOException {
+        Files.writeString(file, snapshotLine() + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public void close() {
+        thread.interrupt();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            //already shutting down, the hook writes the last snapshot
+            return;
+        }
+        exportQuietly();
+    }
+
+//======================================= FORMAT =======================================
+
+    private String snapshotLine() {
+        long now = System.nanoTime();
+        double seconds = (now - previousNanos) / 1e9;
+        Map<String, Long> counters = Metrics.counterValues();
+
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("{\"time\":\"").append(Instant.now()).append('"');
+        sb.append(",\"seconds\":").append(decimal(seconds));
+
+        sb.append(",\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, Long> e : counters.entrySet()) {
+            sb.append(separator).append('"').append(e.getKey()).append("\":").append(e.getValue());
+            separator = ",";
+        }
+
+        sb.append("},\"rates\":{");
+        separator = "";
+        for (Map.Entry<String, Long> e : counters.entrySet()) {
+            long delta = e.getValue() - previous.getOrDefault(e.getKey(), 0L);
+            sb.append(separator).append('"').append(e.getKey()).append("\":")
+              .append(decimal(seconds > 0 ? delta / seconds : 0));
+            separator = ",";
+        }
+
+        long shots = counters.getOrDefault("shots", 0L);
+        long hits = counters.getOrDefault("hits", 0L);
+        sb.append("},\"hitRatio\":").append(decimal(shots == 0 ? 0 : (double) hits / shots));
+
+        sb.append(",\"histograms\":{");
+        separator = "";
+        for (Map.Entry<String, Histogram.Snapshot> e : Metrics.histogramSnapshots().entrySet()) {
+            Histogram.Snapshot h = e.getValue();
+            sb.append(separator).append('"').append(e.getKey()).append("\":{")
+              .append("\"count\":").append(h.getCount())
+              .append(",\"mean\":").append(decimal(h.getMean()))
+              .append(",\"p50\":").append(h.percentile(0.50))
+              .append(",\"p90\":").append(h.percentile(0.90))
+              .append(",\"p99\":").append(h.percentile(0.99))
+              .append(",\"max\":").append(h.getMax())
+              .append('}');
+            separator = ",";
+        }
+        sb.append("}}");
+
+        previous = counters;
+        previousNanos = now;
+        return sb.toString();
+    }
+
+    private static String decimal(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+}
@@ -5,4 +5,8 @@
  * 
  */
 module Seabattle {
-}
\ No newline at end of file
+    requires jdk.jfr;
+
+    uses engine.MoveStrategy;
+    provides engine.MoveStrategy with strategy.ParityStrategy, strategy.UniformStrategy;
+}
@@ -1,37 +1,172 @@
 package player;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
-public class AIPlayer extends Player{
+import engine.GameEngine;
+import engine.MoveSource;
+import ships.Ship;
 
-	private Random random;
+public class AIPlayer extends Player implements MoveSource{
+
+    // -Dseabattle.ai.speculate=false: think only when it is our turn
+    private static final boolean SPECULATE =
+            Boolean.parseBoolean(System.getProperty("seabattle.ai.speculate", "true"));
+
+	private SplittableRandom random;
+
+    private int boardSize;
+    private int[] shots;        // cells not fired at yet, in [0, remaining)
+    private int remaining;
+    private int pendingShot;
+    private boolean[] restored; // cells already fired at, only while resuming
+
+    private Thread speculation;         // works out the next shot during the opponent's turn
+    private int speculatedShot = -1;
+    private RuntimeException speculationFailure;
 
     public AIPlayer(String name, int boardSize) {
+        this(name, boardSize, new SplittableRandom());
+    }
+
+    // each AI owns its random stream, nothing is shared between threads
+    public AIPlayer(String name, int boardSize, SplittableRandom random) {
         super(name, boardSize);
-        this.random = new Random();
+        this.random = random;
+        newGame(boardSize);
+    }
+
+    // ================= MOVE SOURCE =================
+
+    public void reseed(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public void newGame(int boardSize) {
+        this.boardSize = boardSize;
+        int cells = boardSize * boardSize;
+
+        if (shots == null || shots.length != cells)
+            shots = new int[cells];
+
+        for (int i = 0; i < cells; i++)
+            shots[i] = i;
+        remaining = cells;
+    }
+
+    // random cell that has not been fired at yet
+    public int nextShot() {
+        int i = random.nextInt(remaining);
+        int cell = shots[i];
+        shots[i] = shots[--remaining];
+        shots[remaining] = cell;
+        return cell;
+    }
+
+    public void shotResult(int cell, int outcome, int sunkSize) {
+        //random AI does not learn from results
+    }
+
+    // feeds interactive results into the same shotResult used by GameEngine
+    protected void onAttackResult(int row, int col, Ship hitShip) {
+        int cell = row * boardSize + col;
+
+        if (hitShip == null)
+            shotResult(cell, GameEngine.MISS, 0);
+        else if (hitShip.isDestroyed())
+            shotResult(cell, GameEngine.SUNK, hitShip.getSize());
+        else
+            shotResult(cell, GameEngine.HIT, 0);
+    }
+
+    protected void onShipRevealed(int firstCell, int step, int length) {
+        shipRevealed(firstCell, step, length);
+    }
+
+    // ================= RESUMING A SAVED GAME =================
+
+    // the restored shots leave the deck; learning goes through shotResult as in a live game
+    public void resumeAgainst(Player opponent) {
+        restored = new boolean[boardSize * boardSize];
+        super.resumeAgainst(opponent);
+
+        remaining = 0;
+        for (int cell = 0; cell < restored.length; cell++) {
+            if (!restored[cell])
+                shots[remaining++] = cell;
+        }
+        restored = null;
+    }
+
+    protected void onShotRestored(int row, int col, int outcome, int sunkSize) {
+        int cell = row * boardSize + col;
+        restored[cell] = true;
+        shotResult(cell, outcome, sunkSize);
+    }
+
+    // ================= SPECULATION =================
+
+    // Our next shot depends only on our own earlier shots, never on where the
+    // opponent fires, so every outcome of its move leads to the same answer:
+    // work it out on a virtual thread while the opponent is still thinking.
+    // Nothing else touches the AI state until takeShot joins the thread.
+    protected void onOpponentTurn() {
+        if (!SPECULATE || speculation != null)
+            return;
+
+        speculatedShot = -1;
+        speculationFailure = null;
+        speculation = Thread.ofVirtual().name(getName() + "-next-shot").start(() -> {
+            try {
+                speculatedShot = GameEngine.nextShot(this);
+            } catch (RuntimeException e) {
+                speculationFailure = e;
+            }
+        });
+    }
+
+    // the shot worked out during the opponent's turn, or a fresh one
+    private int takeShot() {
+        if (speculation == null)
+            return GameEngine.nextShot(this);
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                speculation.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        speculation = null;
+
+        if (speculationFailure != null)
+            throw speculationFailure;
+        return speculatedShot >= 0 ? speculatedShot : GameEngine.nextShot(this);
     }
 
     // ================= AI INPUT OVERRIDES =================
 
     protected int getRowInput() {
-        int row = random.nextInt(10);
-        return row;
+        pendingShot = takeShot();
+        return pendingShot / boardSize;
     }
 
-    protected char getColumnInput() {
-        char col = (char) ('A' + random.nextInt(10));
-        return col;
+    protected int getColumnInput() {
+        return pendingShot % boardSize;
     }
-    
+
     public void displayBoardsSideBySide(Player opponent)
     {
     	//do not display anything
     }
-    
+
     public void displayPoints() {
     	//do not display anything
     }
-    
+
     public void printMessageForException()
     {
     	//print nothing
@@ -0,0 +1,340 @@
+/*
+ * Hunt / target AI driven by a probability-density heatmap.
+ *
+ * For every cell the AI keeps the number of ways the remaining fleet
+ * could cover it (placements that touch no miss and no sunk ship),
+ * weighted by how many ships of each length are still afloat.
+ *
+ *  - Hunt mode: fire at the unknown cell with the highest density.
+ *  - Target mode: while hits belong to ships that are not sunk yet,
+ *    only placements through those hits are scored.
+ *
+ * The heatmap is built once per game and then updated incrementally:
+ * a miss or a sunk cell only removes the placements crossing it, and a
+ * sunk ship only removes placements of its own length. When the game
+ * reveals a sunk ship's cells they are marked directly; otherwise the
+ * footprint is inferred from the live hits when it is unambiguous.
+ *
+ * The view is also kept as a Zobrist hash (cells plus ships sunk), so
+ * subclasses can look up work done for the same view in earlier turns
+ * or other games.
+ */
+
+package player;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import engine.GameEngine;
+import ships.Fleet;
+import ships.Ship;
+
+public class HeatmapAIPlayer extends AIPlayer {
+
+    protected static final byte UNKNOWN = 0;
+    protected static final byte MISS = 1;
+    protected static final byte HIT = 2;     // hit, ship not known to be sunk
+    protected static final byte SUNK = 3;
+
+    private int size;
+    private byte[] state;
+    private int[] density;
+    private int[] remaining;    // ships afloat, indexed by length
+    private int liveHits;
+    private long hash;          // Zobrist hash of state and remaining
+
+    // footprint of the ship about to be reported sunk, -1 when not revealed
+    private int revealedFirst = -1;
+    private int revealedStep;
+
+    private SplittableRandom tieBreak;
+
+    // target mode scratch, cleared through the touched list
+    private int[] targetScore;
+    private int[] touched;
+    private int touchedCount;
+
+    public HeatmapAIPlayer(String name, int boardSize) {
+        this(name, boardSize, new SplittableRandom());
+    }
+
+    public HeatmapAIPlayer(String name, int boardSize, SplittableRandom random) {
+        super(name, boardSize, random);
+        this.tieBreak = random;
+    }
+
+    // ================= MOVE SOURCE =================
+
+    public void newGame(int boardSize) {
+        super.newGame(boardSize);
+
+        int cells = boardSize * boardSize;
+        if (state == null || state.length != cells) {
+            state = new byte[cells];
+            density = new int[cells];
+            targetScore = new int[cells];
+            touched = new int[cells];
+        } else {
+            Arrays.fill(state, UNKNOWN);
+            Arrays.fill(density, 0);
+        }
+        size = boardSize;
+        liveHits = 0;
+        revealedFirst = -1;
+        hash = Zobrist.board(size);
+
+        remaining = new int[size + 1];
+        for (Ship ship : Fleet.forBoard(boardSize)) {
+            if (ship.getSize() <= size)
+                remaining[ship.getSize()]++;
+        }
+
+        //full build, only once per game
+        for (int len = 1; len <= size; len++) {
+            if (remaining[len] == 0)
+                continue;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col + len <= size; col++) {
+                    addPlacement(row * size + col, 1, len, remaining[len]);
+                    addPlacement(col * size + row, size, len, remaining[len]);
+                }
+            }
+        }
+    }
+
+    public void reseed(SplittableRandom random) {
+        super.reseed(random);
+        this.tieBreak = random;
+    }
+
+    public int nextShot() {
+        int cell = liveHits > 0 ? bestTargetCell() : -1;
+        return cell >= 0 ? cell : bestHuntCell();
+    }
+
+    public void shotResult(int cell, int outcome, int sunkSize) {
+
+        if (outcome == GameEngine.MISS) {
+            block(cell, MISS);
+            return;
+        }
+
+        setState(cell, HIT);
+        liveHits++;
+
+        if (outcome == GameEngine.SUNK)
+            sink(cell, sunkSize);
+    }
+
+    public void shipRevealed(int firstCell, int step, int length) {
+        revealedFirst = firstCell;
+        revealedStep = step;
+    }
+
+    // ================= OBSERVATIONS FOR SUBCLASSES =================
+
+    // UNKNOWN, MISS, HIT or SUNK
+    protected byte cellState(int cell) {
+        return state[cell];
+    }
+
+    protected int shipsAfloat(int length) {
+        return length < remaining.length ? remaining[length] : 0;
+    }
+
+    protected int boardSize() {
+        return size;
+    }
+
+    // same hash for the same cell states and ships afloat, whatever the shot order
+    protected long observationHash() {
+        return hash;
+    }
+
+    // ================= HEATMAP UPDATES =================
+
+    // Marks a cell as unusable and drops every placement that crossed it
+    private void block(int cell, byte newState) {
+        int row = cell / size;
+        int col = cell % size;
+
+        for (int len = 1; len <= size; len++) {
+            int weight = remaining[len];
+            if (weight == 0)
+                continue;
+
+            for (int start = Math.max(0, col - len + 1); start <= col && start + len <= size; start++) {
+                int first = row * size + start;
+                if (isOpen(first, 1, len))
+                    addPlacement(first, 1, len, -weight);
+            }
+            for (int start = Math.max(0, row - len + 1); start <= row && start + len <= size; start++) {
+                int first = start * size + col;
+                if (isOpen(first, size, len))
+                    addPlacement(first, size, len, -weight);
+            }
+        }
+        setState(cell, newState);
+    }
+
+    private void setState(int cell, byte newState) {
+        hash ^= Zobrist.cell(size, cell, state[cell]) ^ Zobrist.cell(size, cell, newState);
+        state[cell] = newState;
+    }
+
+    // A ship of sunkSize went down at cell
+    private void sink(int cell, int sunkSize) {
+
+        int first = revealedFirst;
+        int step = revealedStep;
+        revealedFirst = -1;
+
+        //not revealed: only mark the footprint when it is unambiguous
+        if (first < 0) {
+            int row = cell / size;
+            int col = cell % size;
+            int horizontal = liveRun(row, col, 0, 1, sunkSize);
+            int vertical = liveRun(row, col, 1, 0, sunkSize);
+
+            if (horizontal >= 0 && vertical < 0) {
+                first = horizontal;
+                step = 1;
+            } else if (vertical >= 0 && horizontal < 0) {
+                first = vertical;
+                step = size;
+            }
+        }
+
+        if (first >= 0) {
+            for (int i = 0, c = first; i < sunkSize; i++, c += step) {
+                block(c, SUNK);
+                liveHits--;
+            }
+        }
+
+        if (sunkSize <= size && remaining[sunkSize] > 0) {
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c + sunkSize <= size; c++) {
+                    if (isOpen(r * size + c, 1, sunkSize))
+                        addPlacement(r * size + c, 1, sunkSize, -1);
+                    if (isOpen(c * size + r, size, sunkSize))
+                        addPlacement(c * size + r, size, sunkSize, -1);
+                }
+            }
+            remaining[sunkSize]--;
+            hash ^= Zobrist.sunk(size, sunkSize, remaining[sunkSize]);
+        }
+    }
+
+    // Start cell of the only run of len live hits through (row, col) along (dr, dc); -1 if none or several
+    private int liveRun(int row, int col, int dr, int dc, int len) {
+        int found = -1;
+        for (int back = 0; back < len; back++) {
+            int r = row - back * dr;
+            int c = col - back * dc;
+            if (r < 0 || c < 0 || r + (len - 1) * dr >= size || c + (len - 1) * dc >= size)
+                continue;
+
+            int first = r * size + c;
+            int step = dr * size + dc;
+            boolean allHits = true;
+            for (int i = 0; i < len && allHits; i++)
+                allHits = state[first + i * step] == HIT;
+
+            if (allHits) {
+                if (found >= 0)
+                    return -1;
+                found = first;
+            }
+        }
+        return found;
+    }
+
+    private boolean isOpen(int first, int step, int len) {
+        for (int i = 0, c = first; i < len; i++, c += step) {
+            if (state[c] == MISS || state[c] == SUNK)
+                return false;
+        }
+        return true;
+    }
+
+    private void addPlacement(int first, int step, int len, int weight) {
+        for (int i = 0, c = first; i < len; i++, c += step)
+            density[c] += weight;
+    }
+
+    // ================= SHOT SELECTION =================
+
+    private int bestHuntCell() {
+        int best = -1, bestScore = -1, ties = 0;
+
+        for (int c = 0; c < state.length; c++) {
+            if (state[c] != UNKNOWN)
+                continue;
+            int score = density[c];
+            if (score > bestScore) {
+                best = c;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && tieBreak.nextInt(++ties) == 0) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    // Scores unknown cells on open placements through live hits; -1 when nothing fits
+    private int bestTargetCell() {
+        touchedCount = 0;
+
+        for (int hit = 0; hit < state.length; hit++) {
+            if (state[hit] != HIT)
+                continue;
+
+            int row = hit / size;
+            int col = hit % size;
+
+            for (int len = 1; len <= size; len++) {
+                int weight = remaining[len];
+                if (weight == 0)
+                    continue;
+
+                for (int start = Math.max(0, col - len + 1); start <= col && start + len <= size; start++)
+                    scoreTarget(row * size + start, 1, len, weight);
+                for (int start = Math.max(0, row - len + 1); start <= row && start + len <= size; start++)
+                    scoreTarget(start * size + col, size, len, weight);
+            }
+        }
+
+        int best = -1, bestScore = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int c = touched[i];
+            if (targetScore[c] > bestScore) {
+                best = c;
+                bestScore = targetScore[c];
+            }
+            targetScore[c] = 0;
+        }
+        return best;
+    }
+
+    // Placements covering more live hits count for more
+    private void scoreTarget(int first, int step, int len, int weight) {
+        if (!isOpen(first, step, len))
+            return;
+
+        int hits = 0;
+        for (int i = 0, c = first; i < len; i++, c += step) {
+            if (state[c] == HIT)
+                hits++;
+        }
+
+        for (int i = 0, c = first; i < len; i++, c += step) {
+            if (state[c] != UNKNOWN)
+                continue;
+            if (targetScore[c] == 0)
+                touched[touchedCount++] = c;
+            targetScore[c] += weight * hits;
+        }
+    }
+}
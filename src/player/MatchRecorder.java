@@ -0,0 +1,53 @@
+/*
+ * Records an interactive match between two Players as a GameRecord, so it
+ * can go to the same game log as server matches.
+ * Responsible for:
+ *  - Recording both fleets once they are placed
+ *  - Recording each accepted shot with its MISS / HIT / SUNK result
+ *  - Closing the record with the winner
+ *
+ * Players do not report their shots: a turn always ends with exactly one
+ * accepted shot, which is the opponent board's last hit cell.
+ */
+
+package player;
+
+import board.Board;
+import board.BoardStatus;
+import replay.GameRecord;
+
+public final class MatchRecorder {
+
+    private final GameRecord record;
+
+    // both fleets must already be placed
+    public MatchRecorder(Player player1, Player player2) {
+        record = new GameRecord(player1.getBoard().getSize());
+        recordFleet(1, player1.getBoard());
+        recordFleet(2, player2.getBoard());
+    }
+
+    private void recordFleet(int player, Board board) {
+        for (int i = 0; i < board.getPlacedShipCount(); i++)
+            record.placement(player, board.getPlacedShip(i), board.getPlacedRow(i), board.getPlacedCol(i),
+                    board.getPlacedDirection(i));
+    }
+
+    // after player (1 or 2) took a turn against opponent
+    public void shotTaken(int player, Player opponent) {
+        Board target = opponent.getBoard();
+        int row = target.getLastHitRow();
+        int col = target.getLastHitCol();
+
+        //the shot that hits a ship's last cell is the one that sinks it
+        int index = target.getShipIndex(row, col);
+        int result = index < 0 ? BoardStatus.MISS
+                : target.getPlacedShip(index).isDestroyed() ? BoardStatus.SUNK : BoardStatus.HIT;
+        record.shot(player, row, col, result);
+    }
+
+    public GameRecord finish(int winner) {
+        record.end(winner);
+        return record;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Saved state of an interactive match: both players and whose turn is next.
+ * Responsible for:
+ *  - Writing both players into one dense binary snapshot
+ *  - Rebuilding the players, their boards and their ships from it
+ *
+ * Layout (big-endian):
+ *
+ *   "SBS1", board size (int), next player (byte, 1 or 2), then per player:
+ *     kind (byte: human, random, heatmap, montecarlo), name (short length + UTF-8),
+ *     hitCount, shipsDestroyed, last hit row, last hit col (ints),
+ *     ship count (int) and per ship: type (byte), row, col (ints),
+ *       direction (byte 'H'/'V'), hitsTaken (int),
+ *     attacked cells: count (int) + cells (ints, row * size + col, ascending)
+ *
+ * The ship mask is not stored: the ship positions rebuild it. Restoring
+ * places the ships, applies every attacked cell at once and checks every
+ * ship's damage against the saved hitsTaken. The size follows the number
+ * of shots, not the board area: 100 shots come to about 550 bytes on a
+ * 10 x 10 board and about 600 on a 2000 x 2000 one.
+ */
+
+package player;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import board.Board;
+import board.BoardStatus;
+import ships.Fleet;
+import ships.Ship;
+
+public final class MatchSnapshot {
+
+    private static final byte[] MAGIC = { 'S', 'B', 'S', '2' };
+
+    //=====================PLAYER KINDS=====================
+
+    private static final int HUMAN = 0;
+    private static final int RANDOM_AI = 1;
+    private static final int HEATMAP_AI = 2;
+    private static final int MONTECARLO_AI = 3;
+
+    private final Player player1;
+    private final Player player2;
+    private final int nextPlayer;
+
+    public MatchSnapshot(Player player1, Player player2, int nextPlayer) {
+        this.player1 = player1;
+        this.player2 = player2;
+        this.nextPlayer = nextPlayer;
+    }
+
+    public Player getPlayer1() {
+        return player1;
+    }
+
+    public Player getPlayer2() {
+        return player2;
+    }
+
+    // 1 or 2: who takes the next attack turn
+    public int getNextPlayer() {
+        return nextPlayer;
+    }
+
+//==================================== SAVING =================================
+
+    public void save(Path file) throws IOException {
+        Files.write(file, toBytes());
+    }
+
+    public byte[] toBytes() {
+        int size = player1.getBoard().getSize();
+        int[] hits1 = player1.getBoard().getHitCells();
+        int[] hits2 = player2.getBoard().getHitCells();
+        int ships = player1.getBoard().getPlacedShipCount() + player2.getBoard().getPlacedShipCount();
+        int names = player1.getName().length() * 3 + player2.getName().length() * 3;
+
+        ByteBuffer out = ByteBuffer.allocate(9 + 2 * 27 + 4 * (hits1.length + hits2.length) + names + 14 * ships);
+        out.put(MAGIC);
+        out.putInt(size);
+        out.put((byte) nextPlayer);
+
+        writePlayer(out, player1, hits1);
+        writePlayer(out, player2, hits2);
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    private static void writePlayer(ByteBuffer out, Player player, int[] hits) {
+        Board board = player.getBoard();
+        byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+
+        out.put((byte) kindOf(player));
+        out.putShort((short) name.length);
+        out.put(name);
+
+        out.putInt(player.getHitCount());
+        out.putInt(player.getShipsDestroyed());
+        out.putInt(board.getLastHitRow());
+        out.putInt(board.getLastHitCol());
+
+        out.putInt(board.getPlacedShipCount());
+        for (int i = 0; i < board.getPlacedShipCount(); i++) {
+            Ship ship = board.getPlacedShip(i);
+            out.put((byte) Fleet.typeOf(ship));
+            out.putInt(board.getPlacedRow(i));
+            out.putInt(board.getPlacedCol(i));
+            out.put((byte) board.getPlacedDirection(i));
+            out.putInt(ship.getHitCount());
+        }
+
+        out.putInt(hits.length);
+        for (int cell : hits)
+            out.putInt(cell);
+    }
+
+    private static int kindOf(Player player) {
+        if (player instanceof MonteCarloAIPlayer) return MONTECARLO_AI;
+        if (player instanceof HeatmapAIPlayer) return HEATMAP_AI;
+        if (player instanceof AIPlayer) return RANDOM_AI;
+        return HUMAN;
+    }
+
+//==================================== LOADING =================================
+
+    public static MatchSnapshot load(Path file) throws IOException {
+        return fromBytes(Files.readAllBytes(file));
+    }
+
+    public static MatchSnapshot fromBytes(byte[] bytes) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC))
+                throw new IOException("Not a saved Sea Battle game");
+
+            int size = in.getInt();
+            int nextPlayer = in.get();
+
+            Player player1 = readPlayer(in, size);
+            Player player2 = readPlayer(in, size);
+
+            //AI players catch up on the shots they had fired
+            player1.resumeAgainst(player2);
+            player2.resumeAgainst(player1);
+
+            return new MatchSnapshot(player1, player2, nextPlayer);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Saved game is truncated", e);
+        }
+    }
+
+    private static Player readPlayer(ByteBuffer in, int size) throws IOException {
+        int kind = in.get();
+        byte[] name = new byte[in.getShort()];
+        in.get(name);
+
+        Player player = newPlayer(kind, new String(name, StandardCharsets.UTF_8), size);
+        Board board = player.getBoard();
+
+        int hitCount = in.getInt();
+        int shipsDestroyed = in.getInt();
+        int lastRow = in.getInt();
+        int lastCol = in.getInt();
+
+        int shipCount = in.getInt();
+        Ship[] ships = new Ship[shipCount];
+        int[] hitsTaken = new int[shipCount];
+
+        for (int i = 0; i < shipCount; i++) {
+            ships[i] = Fleet.newShip(in.get());
+            int row = in.getInt();
+            int col = in.getInt();
+            char direction = (char) in.get();
+            hitsTaken[i] = in.getInt();
+
+            if (board.tryPlaceShip(ships[i], row, col, direction) != BoardStatus.PLACED)
+                throw new IOException("Saved ship " + i + " of " + player.getName() + " does not fit the board");
+            player.addShip(ships[i]);
+        }
+
+        int cellCount = in.getInt();
+        //each cell takes 4 bytes, so a corrupt count cannot allocate more than the file holds
+        if (cellCount < 0 || cellCount > in.remaining() / 4)
+            throw new IOException("Saved hit count of " + player.getName() + " is corrupt");
+
+        int[] hits = new int[cellCount];
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = in.getInt();
+            if (hits[i] < 0 || hits[i] >= size * size)
+                throw new IOException("Saved hit of " + player.getName() + " is off the board");
+        }
+        board.restoreHits(hits, lastRow, lastCol);
+
+        for (int i = 0; i < shipCount; i++) {
+            if (ships[i].getHitCount() != hitsTaken[i])
+                throw new IOException("Saved hits of " + player.getName() + " do not match the ships");
+        }
+
+        player.restoreScore(hitCount, shipsDestroyed);
+        return player;
+    }
+
+    private static Player newPlayer(int kind, String name, int size) throws IOException {
+        switch (kind) {
+            case HUMAN: return new Player(name, size);
+            case RANDOM_AI: return new AIPlayer(name, size);
+            case HEATMAP_AI: return new HeatmapAIPlayer(name, size);
+            case MONTECARLO_AI: return new MonteCarloAIPlayer(name, size);
+            default: throw new IOException("Unknown player kind " + kind);
+        }
+    }
+}
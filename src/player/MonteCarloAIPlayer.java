@@ -0,0 +1,301 @@
+/*
+ * AI that picks each shot by sampling fleet layouts.
+ *
+ * A layout is a random placement of every ship still afloat that
+ * avoids misses and sunk ships and covers every unsunk hit - i.e. a
+ * board that matches what the hidden view has shown so far. The AI
+ * fires at the unknown cell that is occupied in most sampled layouts.
+ * Layouts are built hits first: each hit not yet covered gets a random
+ * ship laid through it, then the rest of the fleet goes anywhere it
+ * fits. Placing every ship blindly and rejecting layouts that miss a
+ * hit almost never succeeds once a few hits are live.
+ *
+ * Sampling runs on a fork/join pool. Every worker owns its scratch
+ * arrays and its own SplittableRandom, and stops at the sample target
+ * or at the per-move time budget, whichever comes first. Observation
+ * tracking and the fallback move come from HeatmapAIPlayer.
+ *
+ * Chosen shots go into a TranspositionCache keyed by the observation
+ * hash, so a view seen before - in this game or any other running in
+ * the JVM - costs one lookup instead of a round of sampling. By default
+ * all instances share one cache of -Dseabattle.ai.cache entries
+ * (default 262144, 0 turns caching off).
+ */
+
+package player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+public class MonteCarloAIPlayer extends HeatmapAIPlayer {
+
+    private static final int PLACEMENT_ATTEMPTS = 64;
+
+    private static final int CACHE_ENTRIES = Integer.getInteger("seabattle.ai.cache", 1 << 18);
+    private static final TranspositionCache SHARED_CACHE =
+            CACHE_ENTRIES > 0 ? new TranspositionCache(CACHE_ENTRIES) : null;
+
+    private final int samplesPerMove;
+    private final long moveBudgetNanos;
+    private final ForkJoinPool pool;
+    private SplittableRandom random;
+    private final TranspositionCache cache;   // null when caching is off
+
+    private final List<Sampler> samplers = new ArrayList<>();
+    private int[] totals;
+    private int[] fleet = new int[0];   // lengths still afloat, longest first
+    private byte[] observed;            // copy of the hidden view for this move
+    private int[] liveHits = new int[0];    // cells of unsunk hits
+    private int liveHitCount;
+
+    public MonteCarloAIPlayer(String name, int boardSize) {
+        this(name, boardSize, new SplittableRandom());
+    }
+
+    public MonteCarloAIPlayer(String name, int boardSize, SplittableRandom random) {
+        this(name, boardSize, random, 5000, 50, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloAIPlayer(String name, int boardSize, SplittableRandom random,
+                              int samplesPerMove, long moveBudgetMillis, ForkJoinPool pool) {
+        this(name, boardSize, random, samplesPerMove, moveBudgetMillis, pool, SHARED_CACHE);
+    }
+
+    public MonteCarloAIPlayer(String name, int boardSize, SplittableRandom random,
+                              int samplesPerMove, long moveBudgetMillis, ForkJoinPool pool,
+                              TranspositionCache cache) {
+        super(name, boardSize, random);
+        this.samplesPerMove = samplesPerMove;
+        this.moveBudgetNanos = moveBudgetMillis * 1_000_000;
+        this.pool = pool;
+        this.random = random;
+        this.cache = cache;
+
+        for (int i = 0; i < pool.getParallelism(); i++)
+            samplers.add(new Sampler());
+    }
+
+    public void reseed(SplittableRandom random) {
+        super.reseed(random);
+        this.random = random;
+    }
+
+    // ================= SHOT SELECTION =================
+
+    public int nextShot() {
+
+        long hash = observationHash();
+        if (cache != null) {
+            int cached = cache.get(hash);
+            //a hash collision could name a cell already fired at
+            if (cached >= 0 && cached < boardSize() * boardSize() && cellState(cached) == UNKNOWN)
+                return cached;
+        }
+
+        long deadline = System.nanoTime() + moveBudgetNanos;
+        prepareObservation();
+
+        int perWorker = Math.max(1, samplesPerMove / samplers.size());
+        for (Sampler sampler : samplers)
+            sampler.reset(random.split(), perWorker, deadline);
+
+        pool.invokeAll(samplers);
+
+        Arrays.fill(totals, 0);
+        int accepted = 0;
+        for (Sampler sampler : samplers) {
+            accepted += sampler.accepted;
+            for (int c = 0; c < totals.length; c++)
+                totals[c] += sampler.counts[c];
+        }
+
+        if (accepted == 0)
+            return super.nextShot();
+
+        int best = -1;
+        for (int c = 0; c < totals.length; c++) {
+            if (observed[c] == UNKNOWN && (best < 0 || totals[c] > totals[best]))
+                best = c;
+        }
+        if (best < 0)
+            return super.nextShot();
+
+        if (cache != null)
+            cache.put(hash, best);
+        return best;
+    }
+
+    // Snapshot of the hidden view and the ships still afloat, shared read-only by samplers
+    private void prepareObservation() {
+        int size = boardSize();
+        int cells = size * size;
+
+        if (observed == null || observed.length != cells) {
+            observed = new byte[cells];
+            totals = new int[cells];
+        }
+        liveHitCount = 0;
+        for (int c = 0; c < cells; c++) {
+            observed[c] = cellState(c);
+            if (observed[c] == HIT) {
+                if (liveHitCount == liveHits.length)
+                    liveHits = Arrays.copyOf(liveHits, Math.max(16, liveHitCount * 2));
+                liveHits[liveHitCount++] = c;
+            }
+        }
+
+        int ships = 0;
+        for (int len = 1; len <= size; len++)
+            ships += shipsAfloat(len);
+
+        if (fleet.length != ships)
+            fleet = new int[ships];
+
+        int i = 0;
+        for (int len = size; len >= 1; len--) {
+            for (int n = shipsAfloat(len); n > 0; n--)
+                fleet[i++] = len;
+        }
+    }
+
+    // ================= SAMPLING WORKER =================
+
+    private class Sampler implements Callable<Void> {
+
+        private int[] counts = new int[0];
+        private int[] stamp = new int[0];    // cell == generation when used by the current layout
+        private int[] placed = new int[0];   // cells of the current layout
+        private int used;                    // cells in placed[]
+        private int[] shipUsed = new int[0]; // fleet index == generation when already placed
+        private int generation;
+
+        private SplittableRandom rng;
+        private int target;
+        private long deadline;
+        private int accepted;
+
+        void reset(SplittableRandom rng, int target, long deadline) {
+            this.rng = rng;
+            this.target = target;
+            this.deadline = deadline;
+            this.accepted = 0;
+
+            int cells = observed.length;
+            if (counts.length != cells) {
+                counts = new int[cells];
+                stamp = new int[cells];
+                placed = new int[cells];
+                generation = 0;
+            } else {
+                Arrays.fill(counts, 0);
+            }
+            if (shipUsed.length != fleet.length)
+                shipUsed = new int[fleet.length];
+        }
+
+        @Override
+        public Void call() {
+            for (int tries = 0; accepted < target; tries++) {
+                if ((tries & 63) == 0 && System.nanoTime() > deadline)
+                    break;
+                sample();
+            }
+            return null;
+        }
+
+        private void sample() {
+            int size = boardSize();
+
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(shipUsed, 0);
+                generation = 1;
+            }
+            used = 0;
+
+            // 1️ Every unsunk hit gets a ship through it, unless an earlier one already covers it
+            int ships = 0;
+            int from = liveHitCount == 0 ? 0 : rng.nextInt(liveHitCount);
+            for (int h = 0; h < liveHitCount; h++) {
+                int hit = liveHits[(from + h) % liveHitCount];
+                if (stamp[hit] == generation)
+                    continue;
+                if (ships == fleet.length || !placeThrough(hit, size))
+                    return;
+                ships++;
+            }
+
+            // 2️ The rest of the fleet anywhere it fits, longest first
+            for (int s = 0; s < fleet.length; s++) {
+                if (shipUsed[s] == generation)
+                    continue;
+
+                int len = fleet[s];
+                if (len > size)
+                    return;
+
+                boolean ok = false;
+                for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS && !ok; attempt++) {
+                    boolean horizontal = rng.nextBoolean();
+                    int row = rng.nextInt(horizontal ? size : size - len + 1);
+                    int col = rng.nextInt(horizontal ? size - len + 1 : size);
+                    ok = tryPlace(row * size + col, horizontal ? 1 : size, len);
+                }
+                if (!ok)
+                    return;
+                shipUsed[s] = generation;
+            }
+
+            for (int i = 0; i < used; i++)
+                counts[placed[i]]++;
+            accepted++;
+        }
+
+        // A random ship not placed yet, laid at a random offset across hit
+        private boolean placeThrough(int hit, int size) {
+            int hitRow = hit / size;
+            int hitCol = hit % size;
+
+            for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS; attempt++) {
+                int s = rng.nextInt(fleet.length);
+                while (shipUsed[s] == generation)
+                    s = s + 1 == fleet.length ? 0 : s + 1;
+
+                int len = fleet[s];
+                if (len > size)
+                    continue;
+
+                boolean horizontal = rng.nextBoolean();
+                int along = horizontal ? hitCol : hitRow;
+                //first cell along the line: the ship must stay on the board and cover the hit
+                int lo = Math.max(0, along - len + 1);
+                int hi = Math.min(along, size - len);
+                int start = lo + rng.nextInt(hi - lo + 1);
+
+                int first = horizontal ? hitRow * size + start : start * size + hitCol;
+                if (tryPlace(first, horizontal ? 1 : size, len)) {
+                    shipUsed[s] = generation;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Places len cells from first, step 1 across or size down, when none is taken, a miss or sunk
+        private boolean tryPlace(int first, int step, int len) {
+            for (int i = 0, c = first; i < len; i++, c += step) {
+                if (stamp[c] == generation || observed[c] == MISS || observed[c] == SUNK)
+                    return false;
+            }
+            for (int i = 0, c = first; i < len; i++, c += step) {
+                stamp[c] = generation;
+                placed[used++] = c;
+            }
+            return true;
+        }
+    }
+}
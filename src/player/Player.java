@@ -5,6 +5,10 @@
  *  - Handling user input for ship placement and attacks
  *  - Tracking hits and destroyed ships
  *
+ * Moves come from the console, or from a MoveReader when a script is
+ * attached (setScript): then nothing is prompted and every move is one
+ * line of the script.
+ *
  * Game flow control is handled by Main,
  * and board rules are enforced by Board.
  */
@@ -12,17 +16,28 @@
 
 package player;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 import board.Board;
+import board.BoardStatus;
+import console.ColumnLabels;
 import console.ConsoleSymbols;
+import console.FrameRenderer;
+import console.MoveReader;
+import events.Events;
+import events.RenderEvent;
+import events.TurnEvent;
 import exceptions.CellAlreadyHitException;
 import exceptions.InvalidCoordinateException;
 import exceptions.InvalidInputFormatException;
 import exceptions.ShipPlacementException;
+import metrics.Metrics;
 import ships.Ship;
 
 public class Player {
@@ -33,6 +48,12 @@ public class Player {
     private int hitCount;
     private int shipsDestroyed;
     private Scanner sc;
+    private FrameRenderer screen;
+    private MoveReader script;      // null: moves are typed at the console
+    private boolean placing;        // script moves carry a direction while placing ships
+
+    // rows and columns shown per board on oceans larger than this
+    private static final int VIEW_SIZE = 16;
 
     public Player(String name, int boardSize) {
         this.name = name;
@@ -41,6 +62,7 @@ public class Player {
         this.hitCount = 0;
         this.shipsDestroyed = 0;
         this.sc = new Scanner(System.in);
+        this.screen = FrameRenderer.console();
     }
 
 //===================== BASIC GETTERS SETTERS NEEDED =================
@@ -67,9 +89,25 @@ public class Player {
         ships.add(ship);
     }
 
+    // Moves come from the script from now on, without prompts
+    public void setScript(MoveReader script) {
+        this.script = script;
+    }
+
+    // for MatchSnapshot
+    Board getBoard() {
+        return board;
+    }
+
+    void restoreScore(int hitCount, int shipsDestroyed) {
+        this.hitCount = hitCount;
+        this.shipsDestroyed = shipsDestroyed;
+    }
+
 //=======SHIPS SETUP==============
     public void placeAllShips() {
         System.out.println("\n" + name + " - Place your ships");
+        placing = true;
 
         for (Ship ship : ships) {
 
@@ -78,25 +116,28 @@ public class Player {
             while (true) {
                 
 
-                System.out.println("Enter the starting correct coordinates for Placing " + ship.getClass().getSimpleName() +" (size " + ship.getSize() + ")");
+                if (script == null)
+                    System.out.println("Enter the starting correct coordinates for Placing " + ship.getClass().getSimpleName() +" (size " + ship.getSize() + ")");
 
                 try
                 {
                 	int row = getRowInput();
-                    int col = getColumnInput() - 'A';
+                    int col = getColumnInput();
                     char direction = getDirectionInput();
                     
+                    Metrics.PLACEMENT_ATTEMPTS.increment();
                 	board.placeShip(ship, row, col, direction);
                 	break;
                 }
                 catch(ShipPlacementException e)
                 {
+                    Metrics.PLACEMENT_RETRIES.increment();
                 	System.out.println(e.getMessage());
                 	System.out.println("Please Try Again ");
                 }
                 catch(InputMismatchException e)
                 {
-                	System.out.println("Enter integers between 0 and 9 please");
+                	System.out.println("Enter integers between 0 and " + (board.getSize() - 1) + " please");
                 	sc.nextLine();
                 }
                 catch(InvalidInputFormatException e)
@@ -105,23 +146,40 @@ public class Player {
                 }
             }
         }
+        placing = false;
+    }
+
+    // Every ship at a uniformly random free position, as the computer places them
+    public void placeAllShipsRandomly(SplittableRandom random) {
+        if (!board.placeRandomly(ships.toArray(new Ship[0]), 0, random))
+            throw new IllegalStateException("Fleet does not fit on a " + board.getSize() + "x" + board.getSize() + " board.");
     }
 
 
 //========================= ATTACK FLOW ====================
 
     public void takeAttackTurn(Player opponent) {
+        long start = System.nanoTime();
+        TurnEvent turn = Events.ENABLED ? new TurnEvent() : null;
+        if (turn != null)
+            turn.begin();
+        //the opponent may use this turn to think ahead
+        opponent.onOpponentTurn();
+
     	printTurnBanner(name);
         //opponent.displayBoardToOpponent();
     	displayBoardsSideBySide(opponent);
+    	//the whole pre-shot screen goes out in one write, before any prompt
+    	screen.flush();
         Ship hitShip;
+        int row, col;
       //while true takes input until the inputs are valid
         while(true)
         {
         	try
         	{
-        		int row = getRowInput();
-                int col = getColumnInput()-'A';
+        		row = getRowInput();
+                col = getColumnInput();
 
                 hitShip = opponent.receiveAttack(row, col);
 
@@ -135,7 +193,7 @@ public class Player {
         	}
         	catch(InputMismatchException e)
         	{
-        		System.out.println("Enter integers between 0 and 9 please");
+        		System.out.println("Enter integers between 0 and " + (board.getSize() - 1) + " please");
         		//to free the taken input and not go into infinite loop
         		sc.nextLine();
         	}
@@ -144,6 +202,15 @@ public class Player {
             	System.out.println(e.getMessage());
             }
         }
+        Metrics.SHOTS.increment();
+        if (hitShip != null)
+            Metrics.HITS.increment();
+
+        if (hitShip != null && hitShip.isDestroyed()) {
+            Metrics.SHIPS_SUNK.increment();
+            revealShip(opponent.board, opponent.board.getShipIndex(row, col));
+        }
+        onAttackResult(row, col, hitShip);
         //opponent.displayBoardToOpponent();
         
         displayBoardsSideBySide(opponent);
@@ -151,20 +218,34 @@ public class Player {
         if (hitShip != null) {
 
             handleSuccessfulHit(hitShip);
-            System.out.println();
-            System.out.println("    "+ ConsoleSymbols.FULL_BLOCK.repeat(31));
-            System.out.println("       "+ ConsoleSymbols.EXPLOSION + "  HIT CONFIRMED  "+ ConsoleSymbols.EXPLOSION);
-            System.out.println("    "+ ConsoleSymbols.FULL_BLOCK.repeat(31));
+            screen.println();
+            screen.println("    "+ ConsoleSymbols.FULL_BLOCK.repeat(31));
+            screen.println("       "+ ConsoleSymbols.EXPLOSION + "  HIT CONFIRMED  "+ ConsoleSymbols.EXPLOSION);
+            screen.println("    "+ ConsoleSymbols.FULL_BLOCK.repeat(31));
 
         } else {
 
-            System.out.println();
-            System.out.println("    "+ ConsoleSymbols.HORIZONTAL.repeat(31));
-            System.out.println("             "+ ConsoleSymbols.CROSS_MARK + "  MISS  "+ ConsoleSymbols.CROSS_MARK);
-            System.out.println("    "+ ConsoleSymbols.HORIZONTAL.repeat(31));
+            screen.println();
+            screen.println("    "+ ConsoleSymbols.HORIZONTAL.repeat(31));
+            screen.println("             "+ ConsoleSymbols.CROSS_MARK + "  MISS  "+ ConsoleSymbols.CROSS_MARK);
+            screen.println("    "+ ConsoleSymbols.HORIZONTAL.repeat(31));
         }
 
         displayPoints();
+        screen.flush();
+
+        Metrics.TURN_LATENCY.recordSince(start);
+        if (turn != null) {
+            turn.player = name;
+            turn.row = row;
+            turn.col = col;
+            turn.outcome = hitShip == null ? "MISS" : hitShip.isDestroyed() ? "SUNK" : "HIT";
+            turn.commit();
+        }
+    }
+
+    // Called as the opponent starts its turn against this player
+    protected void onOpponentTurn() {
     }
 
     // Opponent attacks THIS player
@@ -172,12 +253,68 @@ public class Player {
         return board.attackCell(row, col);
     }
 
+    // Called once per turn with the accepted shot; hitShip is null on a miss
+    protected void onAttackResult(int row, int col, Ship hitShip) {
+        //human players remember results themselves
+    }
+
+    // After a saved game is loaded: goes over the shots this player already fired
+    // at opponent, so that AI players can rebuild what they knew
+    public void resumeAgainst(Player opponent) {
+        Board target = opponent.board;
+        int size = target.getSize();
+
+        //cell order; a ship counts as sunk on the last of its cells
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (!target.isHit(row, col))
+                    continue;
+
+                int index = target.getShipIndex(row, col);
+                if (index < 0) {
+                    onShotRestored(row, col, BoardStatus.MISS, 0);
+                    continue;
+                }
+
+                Ship ship = target.getPlacedShip(index);
+                boolean vertical = target.getPlacedDirection(index) == 'V';
+                int lastRow = target.getPlacedRow(index) + (vertical ? ship.getSize() - 1 : 0);
+                int lastCol = target.getPlacedCol(index) + (vertical ? 0 : ship.getSize() - 1);
+
+                if (ship.isDestroyed() && row == lastRow && col == lastCol) {
+                    revealShip(target, index);
+                    onShotRestored(row, col, BoardStatus.SUNK, ship.getSize());
+                } else {
+                    onShotRestored(row, col, BoardStatus.HIT, 0);
+                }
+            }
+        }
+    }
+
+    private void revealShip(Board target, int index) {
+        int size = target.getSize();
+        int first = target.getPlacedRow(index) * size + target.getPlacedCol(index);
+        int step = target.getPlacedDirection(index) == 'H' ? 1 : size;
+        onShipRevealed(first, step, target.getPlacedShip(index).getSize());
+    }
+
+    // A ship this player sank is shown on the opponent's board: length cells
+    // from firstCell (row * size + col), step 1 across or size down
+    protected void onShipRevealed(int firstCell, int step, int length) {
+        //human players see it on the board
+    }
+
+    // One shot fired before the game was saved; outcome is BoardStatus.MISS, HIT or SUNK
+    protected void onShotRestored(int row, int col, int outcome, int sunkSize) {
+        //human players see their shots on the board
+    }
+
     private void handleSuccessfulHit(Ship ship) {
         hitCount++;
 
         if (ship.isDestroyed()) {
             shipsDestroyed++;
-            System.out.println("You destroyed a " +
+            screen.println("You destroyed a " +
                     ship.getClass().getSimpleName());
         }
     }
@@ -195,48 +332,95 @@ public class Player {
     }
     
     public void displayPoints() {
-        System.out.println("    ┌───────────────────────────────┐");
-        System.out.println("    │            SCOREBOARD         │");
-        System.out.println("    ├─────────────────────┬─────────┤");
-        System.out.println("    │ Total Hits          │   " + hitCount + "     │");
-        System.out.println("    │ Ships Destroyed     │   " + shipsDestroyed + "     │");
-        System.out.println("    └─────────────────────┴─────────┘");
+        screen.println("    ┌───────────────────────────────┐");
+        screen.println("    │            SCOREBOARD         │");
+        screen.println("    ├─────────────────────┬─────────┤");
+        screen.println("    │ Total Hits          │   " + hitCount + "     │");
+        screen.println("    │ Ships Destroyed     │   " + shipsDestroyed + "     │");
+        screen.println("    └─────────────────────┴─────────┘");
     }
     
     public void displayBoardsSideBySide(Player opponent) {
 
+        RenderEvent render = Events.ENABLED ? new RenderEvent() : null;
+        if (render != null)
+            render.begin();
+
         Board own = this.board;
         Board enemy = opponent.board;
 
-        System.out.println();
-        System.out.println("        YOUR BOARD                                      OPPONENT BOARD");
-        System.out.println();
+        // Large oceans only show a window around the most recent shot on each board
+        int size = own.getSize();
+        int view = Math.min(size, VIEW_SIZE);
+        int ownRow = viewStart(own.getLastHitRow(), size, view);
+        int ownCol = viewStart(own.getLastHitCol(), size, view);
+        int enemyRow = viewStart(enemy.getLastHitRow(), size, view);
+        int enemyCol = viewStart(enemy.getLastHitCol(), size, view);
+
+        screen.println();
+        screen.println("        YOUR BOARD                                      OPPONENT BOARD");
+        screen.println();
+
+        if (view < size) {
+            screen.println("        " + viewCaption(ownRow, ownCol, view)
+                    + "                      " + viewCaption(enemyRow, enemyCol, view));
+        }
 
         // Headers
-        System.out.println(own.getOwnBoardHeader() + "        " + enemy.getHiddenBoardHeader());
+        screen.println(own.getBoardHeader(ownCol, ownCol + view) + "        " + enemy.getBoardHeader(enemyCol, enemyCol + view));
 
         // Top borders
-        System.out.println(own.getTopBorder() + "        " + enemy.getTopBorder());
+        screen.println(own.getTopBorder(ownCol, ownCol + view) + "        " + enemy.getTopBorder(enemyCol, enemyCol + view));
+
+        // Rows (each board caches its rendered rows)
+        String middle = own.getMiddleBorder(ownCol, ownCol + view) + "        " + enemy.getMiddleBorder(enemyCol, enemyCol + view);
 
-        // Rows
-        for (int row = 0; row < 10; row++) {
+        for (int i = 0; i < view; i++) {
 
-            System.out.println(own.getOwnBoardRow(row) + "        " + enemy.getHiddenBoardRow(row));
+            screen.println(own.getOwnBoardRow(ownRow + i, ownCol, ownCol + view) + "        "
+                    + enemy.getHiddenBoardRow(enemyRow + i, enemyCol, enemyCol + view));
 
-            if (row < 9) {
-                System.out.println(own.getMiddleBorder() + "        " + enemy.getMiddleBorder());
+            if (i < view - 1) {
+                screen.println(middle);
             }
         }
 
         // Bottom borders
-        System.out.println(own.getBottomBorder() + "        " + enemy.getBottomBorder());
+        screen.println(own.getBottomBorder(ownCol, ownCol + view) + "        " + enemy.getBottomBorder(enemyCol, enemyCol + view));
+
+        screen.println();
 
-        System.out.println();
+        if (render != null) {
+            render.boardSize = size;
+            render.view = view;
+            render.commit();
+        }
+    }
+
+    // First row/column of a window of `view` cells kept around `center`
+    private static int viewStart(int center, int size, int view) {
+        if (center < 0)
+            return 0;
+        return Math.max(0, Math.min(center - view / 2, size - view));
+    }
+
+    private static String viewCaption(int row, int col, int view) {
+        return "rows " + row + "-" + (row + view - 1) + ", columns "
+                + ColumnLabels.label(col) + "-" + ColumnLabels.label(col + view - 1);
     }
 
 //====================== INPUT METHODS =====================
 
     protected int getRowInput() throws InputMismatchException{
+        if (script != null) {
+            try {
+                script.next(placing);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return script.getRow();
+        }
+
         System.out.print("Enter row: ");
         
         int x = sc.nextInt();
@@ -245,7 +429,17 @@ public class Player {
         return x;
     }
 
-    protected char getColumnInput() throws InvalidInputFormatException {
+    // 0-based column index; labels run A..Z, AA..AZ, ... on wide boards
+    protected int getColumnInput() throws InvalidInputFormatException {
+    	String last = ColumnLabels.label(board.getSize() - 1);
+
+        //the script line was read with the row; a bad column skips to the next line
+        if (script != null) {
+            if (script.getCol() < 0 || script.getCol() >= board.getSize())
+                throw new InvalidInputFormatException("Column must be between A-" + last + ", no other symbols");
+            return script.getCol();
+        }
+
     	while(true)
     	{
     		try
@@ -253,15 +447,15 @@ public class Player {
     			System.out.print("Enter column: ");
     	        String input=sc.nextLine().trim();
     	        
-    	        if(input.length()!=1)
-    	        	throw new InvalidInputFormatException("Column must be a single character (A-J)");
+    	        if(input.isEmpty())
+    	        	throw new InvalidInputFormatException("Column must be letters (A-" + last + ")");
     	        
-    	        char ch = Character.toUpperCase(input.charAt(0));
+    	        int col = ColumnLabels.parse(input);
     	        
-    	        if(ch<'A'||ch>'J')
-    	        	throw new InvalidInputFormatException("Column must be between A-J, no other symbols");
+    	        if(col < 0 || col >= board.getSize())
+    	        	throw new InvalidInputFormatException("Column must be between A-" + last + ", no other symbols");
     	        
-    	        return ch;
+    	        return col;
     		}
     		catch(InvalidInputFormatException e)
     		{
@@ -273,6 +467,9 @@ public class Player {
     }
 
     private char getDirectionInput() throws InvalidInputFormatException{
+        if (script != null)
+            return script.getDirection();
+
     	while (true) {
     		try {
     			System.out.print("Enter direction (H/V): ");
@@ -296,10 +493,10 @@ public class Player {
     }
     
     public void printTurnBanner(String name) {
-        System.out.println();
-        System.out.println(       "==============================================================");
-        System.out.println(       "||                "+ConsoleSymbols.FIRE+"  " + name.toUpperCase() + "'S TURN  "+ConsoleSymbols.FIRE+"                       ||");
-        System.out.println(       "==============================================================");
+        screen.println();
+        screen.println(       "==============================================================");
+        screen.println(       "||                "+ConsoleSymbols.FIRE+"  " + name.toUpperCase() + "'S TURN  "+ConsoleSymbols.FIRE+"                       ||");
+        screen.println(       "==============================================================");
         //System.out.println();
     }
     
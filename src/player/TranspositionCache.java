@@ -0,0 +1,75 @@
+/*
+ * Bounded cache from observation hash to the shot an AI chose for it.
+ * Responsible for:
+ *  - Sharing computed moves across turns, games and threads
+ *  - Staying at a fixed size by evicting older entries
+ *
+ * Entries are packed into one long: the upper 32 bits of the hash as a
+ * check tag and the shot + 1 below it, so a reader never sees a tag from
+ * one write and a shot from another. Buckets hold two entries; a new
+ * state goes into the first slot and pushes the previous one into the
+ * second, evicting whatever was there. No locks are taken: two threads
+ * writing the same bucket at worst lose one entry.
+ *
+ * The low bits of the hash pick the bucket and the tag checks the high
+ * bits, so a false hit needs a collision on well over 32 bits. Callers
+ * still check that a cached shot is legal before using it.
+ */
+
+package player;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class TranspositionCache {
+
+    private static final int MAX_ENTRIES = 1 << 30;
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+
+    // capacity is rounded up to a power of two, at least one bucket
+    public TranspositionCache(int capacity) {
+        int entriesWanted = Math.max(2, Math.min(capacity, MAX_ENTRIES));
+        int size = Integer.highestOneBit(entriesWanted - 1) << 1;
+
+        entries = new AtomicLongArray(size);
+        bucketMask = size / 2 - 1;
+    }
+
+    public int capacity() {
+        return entries.length();
+    }
+
+    // cached shot for the state, -1 when absent
+    public int get(long hash) {
+        int slot = ((int) hash & bucketMask) << 1;
+        int tag = (int) (hash >>> 32);
+
+        long entry = entries.get(slot);
+        if (entry != 0 && (int) (entry >>> 32) == tag)
+            return (int) entry - 1;
+
+        entry = entries.get(slot + 1);
+        if (entry != 0 && (int) (entry >>> 32) == tag)
+            return (int) entry - 1;
+
+        return -1;
+    }
+
+    // shot must be >= 0
+    public void put(long hash, int shot) {
+        int slot = ((int) hash & bucketMask) << 1;
+        int tag = (int) (hash >>> 32);
+        long entry = ((long) tag << 32) | ((shot + 1) & 0xFFFFFFFFL);
+
+        long first = entries.get(slot);
+        if (first != 0 && (int) (first >>> 32) != tag)
+            entries.set(slot + 1, first);
+        entries.set(slot, entry);
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++)
+            entries.set(i, 0L);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Zobrist keys for an AI's view of the opponent board.
+ * Responsible for:
+ *  - One random 64-bit key per (cell, observed state)
+ *  - One key per sinking, so the ships still afloat are part of the hash
+ *
+ * The hash of a view is the XOR of the keys of every non-unknown cell and
+ * every ship sunk so far, seeded with a key for the board size. Changing
+ * a cell from state a to state b is hash ^= cell(a) ^ cell(b), so keeping
+ * the hash current costs O(1) per observed cell.
+ *
+ * Keys come from a SplitMix64 finaliser over (size, cell, state) rather
+ * than from a table: a 10000 x 10000 board would need gigabytes of them.
+ */
+
+package player;
+
+public final class Zobrist {
+
+    private static final long BOARD_SALT = 0x5EA_BA77_1EL;
+    private static final long CELL_SALT = 0x9E3779B97F4A7C15L;
+    private static final long SUNK_SALT = 0xC2B2AE3D27D4EB4FL;
+
+    private Zobrist() {
+    }
+
+    // hash of an untouched view of a size x size board
+    public static long board(int size) {
+        return mix(BOARD_SALT ^ size);
+    }
+
+    // key of cell in the given observed state; state 0 (unknown) has key 0
+    public static long cell(int size, int cell, int state) {
+        if (state == 0)
+            return 0L;
+        return mix(CELL_SALT ^ ((long) size << 40) ^ ((long) cell << 2) ^ state);
+    }
+
+    // key of the sinking that leaves `afloat` ships of this length
+    public static long sunk(int size, int length, int afloat) {
+        return mix(SUNK_SALT ^ ((long) size << 40) ^ ((long) length << 20) ^ afloat);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
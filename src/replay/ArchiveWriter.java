@@ -0,0 +1,192 @@
+/*
+ * Packs finished games into the segment files of a ReplayArchive.
+ * Responsible for:
+ *  - Appending each GameRecord to the current data segment
+ *  - Computing board snapshots every ReplayArchive.SNAPSHOT_INTERVAL shots
+ *  - Writing one fixed-size index entry per game
+ *  - Starting a new segment once the current one is full
+ *
+ * See ReplayArchive for the file layout. A writer never touches existing
+ * segments: it continues with the next segment number. Index entries are
+ * held back and written only after the data stream is flushed, so an index
+ * on disk never points past the data that reached the disk.
+ *
+ * Thread-safe; appends are serialized.
+ */
+
+package replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ArchiveWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int segment;
+    private DataOutputStream data;
+    private OutputStream index;
+    private final ByteBuffer pendingIndex = ByteBuffer.allocate(BUFFER_BYTES);
+    private long dataBytes;
+    private long games;
+
+    public ArchiveWriter(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+
+        segment = ReplayArchive.segmentFiles(directory).size();
+        openSegment();
+    }
+
+    // Copies every game of a GameLog file into a new archive segment; returns the count
+    public static long importLog(Path logFile, Path directory) throws IOException {
+        try (GameLogReader reader = new GameLogReader(logFile);
+             ArchiveWriter writer = new ArchiveWriter(directory)) {
+            GameRecord record;
+            while ((record = reader.next()) != null)
+                writer.append(record);
+            return writer.getGames();
+        }
+    }
+
+    public void append(GameRecord record) throws IOException {
+        Summary summary = summarize(record);
+
+        lock.lock();
+        try {
+            if (dataBytes >= ReplayArchive.SEGMENT_BYTES) {
+                closeSegment();
+                segment++;
+                openSegment();
+            }
+
+            if (pendingIndex.remaining() < ReplayArchive.INDEX_ENTRY_BYTES)
+                flushIndex();
+
+            pendingIndex.putLong(dataBytes);
+            pendingIndex.putInt(record.length());
+            pendingIndex.putInt(summary.shots);
+            pendingIndex.putInt(summary.snapshots);
+            pendingIndex.putInt(summary.winner);
+
+            data.write(record.bytes(), 0, record.length());
+            data.write(summary.snapshotBytes.array(), 0, summary.snapshotBytes.position());
+            dataBytes += record.length() + summary.snapshotBytes.position();
+            games++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // games appended through this writer
+    public long getGames() {
+        return games;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closeSegment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+//==================================== SNAPSHOTS =================================
+
+    static int snapshotBytes(int boardSize) {
+        return 4 + 2 * (4 + 8 * ReplayArchive.words(boardSize));
+    }
+
+    // what the index needs to know about one game
+    private static final class Summary {
+        int shots;
+        int winner;
+        int snapshots;
+        ByteBuffer snapshotBytes;
+    }
+
+    // One pass over the events: shot count, winner, and both boards after every
+    // SNAPSHOT_INTERVAL shots (none for boards too large to snapshot)
+    private static Summary summarize(GameRecord record) {
+        int size = record.getBoardSize();
+        int words = ReplayArchive.words(size);
+        boolean snapshotting = words <= ReplayArchive.MAX_SNAPSHOT_WORDS;
+
+        long[][] hits = new long[2][snapshotting ? words : 0];
+        int[] lastHit = { -1, -1 };
+
+        Summary summary = new Summary();
+        ByteBuffer out = ByteBuffer.allocate(snapshotting ? snapshotBytes(size) * 4 : 0);
+        EventCursor events = new EventCursor(ByteBuffer.wrap(record.bytes()), 0, record.length());
+
+        while (events.next()) {
+            if (events.kind == GameRecord.END)
+                summary.winner = events.winner;
+            if (events.kind != GameRecord.SHOT)
+                continue;
+
+            summary.shots++;
+            if (!snapshotting)
+                continue;
+
+            //the shot lands on the other player's board
+            int target = 2 - events.player;
+            hits[target][events.cell >>> 6] |= 1L << events.cell;
+            lastHit[target] = events.cell;
+
+            if (summary.shots % ReplayArchive.SNAPSHOT_INTERVAL != 0)
+                continue;
+
+            if (out.remaining() < snapshotBytes(size)) {
+                ByteBuffer bigger = ByteBuffer.allocate(out.capacity() * 2);
+                out.flip();
+                out = bigger.put(out);
+            }
+
+            out.putInt(events.position());
+            for (int b = 0; b < 2; b++) {
+                out.putInt(lastHit[b]);
+                for (long word : hits[b])
+                    out.putLong(word);
+            }
+            summary.snapshots++;
+        }
+
+        summary.snapshotBytes = out;
+        return summary;
+    }
+
+//==================================== SEGMENTS =================================
+
+    private void openSegment() throws IOException {
+        data = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(ReplayArchive.dataFile(directory, segment)), BUFFER_BYTES));
+        index = Files.newOutputStream(ReplayArchive.indexFile(directory, segment));
+        dataBytes = 0;
+    }
+
+    // data first: the entries written here must only describe bytes already on disk
+    private void flushIndex() throws IOException {
+        data.flush();
+        index.write(pendingIndex.array(), 0, pendingIndex.position());
+        pendingIndex.clear();
+    }
+
+    private void closeSegment() throws IOException {
+        flushIndex();
+        data.close();
+        index.close();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Walks the events of an encoded GameRecord (see GameRecord for the layout).
+ *
+ * Works on any ByteBuffer, so archived games are decoded straight from
+ * the mapped segment without copying. next() moves to the next event and
+ * fills the fields that apply to its kind.
+ */
+
+package replay;
+
+import java.nio.ByteBuffer;
+
+final class EventCursor {
+
+    private final ByteBuffer bytes;
+    private final int end;
+    private int pos;
+
+    final int boardSize;
+
+    // fields of the current event
+    int kind;
+    int player;      // 1 or 2
+    int type;        // PLACE: ship type code
+    int vertical;    // PLACE: 1 when vertical
+    int cell;        // PLACE, SHOT
+    int result;      // SHOT: BoardStatus.MISS, HIT or SUNK
+    int winner;      // END
+
+    // record occupying [start, end) of bytes
+    EventCursor(ByteBuffer bytes, int start, int end) {
+        this.bytes = bytes;
+        this.end = end;
+
+        if ((bytes.get(start) & 0xFF) >>> 6 != GameRecord.START)
+            throw new IllegalArgumentException("Game record does not start with START");
+        pos = start + 1;
+        boardSize = readVarint();
+    }
+
+    // offset of the next event, relative to the buffer
+    int position() {
+        return pos;
+    }
+
+    // jumps to an event boundary, e.g. one stored in an archive snapshot
+    void seek(int position) {
+        pos = position;
+    }
+
+    // false after the last event
+    boolean next() {
+        if (pos >= end)
+            return false;
+
+        int head = bytes.get(pos++) & 0xFF;
+        kind = head >>> 6;
+        player = ((head >>> 5) & 1) + 1;
+
+        switch (kind) {
+            case GameRecord.PLACE:
+                vertical = (head >>> 4) & 1;
+                type = head & 0x3;
+                cell = readVarint();
+                return true;
+            case GameRecord.SHOT:
+                result = head & 0x3;
+                cell = readVarint();
+                return true;
+            case GameRecord.END:
+                winner = head & 0x3;
+                return true;
+            default:
+                throw new IllegalArgumentException("Unexpected event at byte " + (pos - 1));
+        }
+    }
+
+    private int readVarint() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = bytes.get(pos++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Append-only binary log of finished games.
+ * Responsible for:
+ *  - Framing each GameRecord with its length (varint)
+ *  - Batching records in one buffer and writing them in large chunks
+ *  - Writing the batch at least once a second while games keep coming
+ *
+ * File layout: the 4 magic bytes "SBL1", then records back to back.
+ * Opening an existing log appends to it.
+ *
+ * Thread-safe: many matches may finish at once, each append copies the
+ * whole record into the batch, so records never interleave.
+ */
+
+package replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class GameLog implements Closeable {
+
+    static final byte[] MAGIC = { 'S', 'B', 'L', '1' };
+
+    private static final int BATCH_BYTES = 64 * 1024;
+    private static final long WRITE_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final FileChannel channel;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_BYTES);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long games;
+    private long lastWrite = System.nanoTime();
+
+    public GameLog(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0)
+            batch.put(MAGIC);
+    }
+
+    public void append(GameRecord record) throws IOException {
+        int framed = record.length() + 5;
+
+        lock.lock();
+        try {
+            if (batch.remaining() < framed)
+                writeBatch();
+
+            if (framed > batch.capacity()) {
+                //larger than a whole batch: straight to the file
+                ByteBuffer single = ByteBuffer.allocate(framed);
+                putVarint(single, record.length());
+                record.writeTo(single);
+                single.flip();
+                while (single.hasRemaining())
+                    channel.write(single);
+            } else {
+                putVarint(batch, record.length());
+                record.writeTo(batch);
+            }
+            games++;
+
+            //a slow server fills the batch rarely; do not let finished games wait in it
+            if (System.nanoTime() - lastWrite >= WRITE_INTERVAL_NANOS)
+                writeBatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // games appended through this instance
+    public long getGames() {
+        return games;
+    }
+
+    // Writes the pending batch; records are on disk once this returns
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            writeBatch();
+            channel.force(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Safe to call more than once, e.g. by a shutdown hook and a try-with-resources
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (!channel.isOpen())
+                return;
+            writeBatch();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining())
+            channel.write(batch);
+        batch.clear();
+        lastWrite = System.nanoTime();
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Reads the games of a GameLog file in order.
+ *
+ * The file is read in large chunks; records are handed out one by one
+ * and next() returns null after the last complete record.
+ */
+
+package replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class GameLogReader implements Closeable {
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+    private boolean endOfFile;
+
+    public GameLogReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer.flip();
+
+        if (!fill(GameLog.MAGIC.length))
+            throw new IOException("Not a game log: " + file);
+
+        byte[] magic = new byte[GameLog.MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, GameLog.MAGIC))
+            throw new IOException("Not a game log: " + file);
+    }
+
+    // Next game, or null at the end of the log
+    public GameRecord next() throws IOException {
+        if (!fill(1))
+            return null;
+
+        //length prefix: at most 5 bytes
+        fill(5);
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (!buffer.hasRemaining())
+                throw new IOException("Truncated game log");
+            int b = buffer.get();
+            length |= (b & 0x7F) << shift;
+            if (b >= 0)
+                break;
+        }
+
+        if (!fill(length))
+            return null;     // last record was cut short
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new GameRecord(bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // true once at least `needed` bytes are buffered
+    private boolean fill(int needed) throws IOException {
+        if (buffer.remaining() >= needed)
+            return true;
+
+        if (needed > buffer.capacity()) {
+            ByteBuffer bigger = ByteBuffer.allocate(needed);
+            bigger.put(buffer);
+            bigger.flip();
+            buffer = bigger;
+        }
+
+        buffer.compact();
+        while (buffer.position() < needed && !endOfFile) {
+            if (channel.read(buffer) < 0)
+                endOfFile = true;
+        }
+        buffer.flip();
+        return buffer.remaining() >= needed;
+    }
+}
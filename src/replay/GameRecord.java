@@ -0,0 +1,111 @@
+/*
+ * Every move of one game, encoded in a few bytes per event.
+ *
+ * Layout: the first byte of an event holds its kind in the top two bits;
+ * cells are packed as row * boardSize + col and written as a varint
+ * (7 bits per byte), so a 10 x 10 cell always takes one byte.
+ *
+ *   START  00------  varint boardSize              (first event only)
+ *   PLACE  01pd--tt  varint cell   p player - 1, d 1 = vertical, tt ship type
+ *   SHOT   10p---rr  varint cell   rr MISS / HIT / SUNK
+ *   END    11----ww                ww winner (0 = none)
+ *
+ * A 10 x 10 game with two fleets and ~100 shots takes about 220 bytes.
+ * Records are built by Match, stored by GameLog and read back by Replay.
+ */
+
+package replay;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import ships.Fleet;
+import ships.Ship;
+
+public final class GameRecord {
+
+    //=====================EVENT KINDS=====================
+
+    static final int START = 0;
+    static final int PLACE = 1;
+    static final int SHOT = 2;
+    static final int END = 3;
+
+    private final int boardSize;
+    private byte[] bytes;
+    private int length;
+
+    public GameRecord(int boardSize) {
+        this.boardSize = boardSize;
+        this.bytes = new byte[64];
+        bytes[length++] = (byte) (START << 6);
+        writeVarint(boardSize);
+    }
+
+    // Wraps an encoded record, as read from a log
+    public GameRecord(byte[] encoded) {
+        this.bytes = encoded;
+        this.length = encoded.length;
+
+        this.boardSize = new EventCursor(ByteBuffer.wrap(encoded), 0, encoded.length).boardSize;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // encoded size in bytes
+    public int length() {
+        return length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(bytes, 0, length);
+    }
+
+    // raw bytes for Replay, valid up to length()
+    byte[] bytes() {
+        return bytes;
+    }
+
+//==================================== EVENTS =================================
+
+    public void placement(int player, Ship ship, int row, int col, char direction) {
+        int vertical = Character.toUpperCase(direction) == 'V' ? 1 : 0;
+        ensure(6);
+        bytes[length++] = (byte) (PLACE << 6 | (player - 1) << 5 | vertical << 4 | Fleet.typeOf(ship));
+        writeVarint(row * boardSize + col);
+    }
+
+    // result is BoardStatus.MISS, HIT or SUNK
+    public void shot(int player, int row, int col, int result) {
+        ensure(6);
+        bytes[length++] = (byte) (SHOT << 6 | (player - 1) << 5 | result);
+        writeVarint(row * boardSize + col);
+    }
+
+    public void end(int winner) {
+        ensure(1);
+        bytes[length++] = (byte) (END << 6 | winner);
+    }
+
+//==================================== VARINTS =================================
+
+    private void writeVarint(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+    }
+}
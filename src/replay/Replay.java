@@ -0,0 +1,140 @@
+/*
+ * Decoded GameRecord that can rebuild either board at any turn.
+ *
+ * The record is decoded once into flat int arrays; boardAt() then places
+ * the recorded fleet on a fresh Board and applies the shots it received
+ * up to the requested turn. Every replayed shot is checked against the
+ * recorded result, so a log that disagrees with the rules is reported.
+ */
+
+package replay;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import board.Board;
+import board.BoardStatus;
+import ships.Fleet;
+
+public class Replay {
+
+    private final int boardSize;
+    private int winner;
+
+    // placements: player, ship type, cell, vertical (0/1)
+    private int[] placePlayer = new int[16];
+    private int[] placeType = new int[16];
+    private int[] placeCell = new int[16];
+    private int[] placeVertical = new int[16];
+    private int placements;
+
+    // shots in turn order: player, cell, BoardStatus result
+    private int[] shotPlayer = new int[64];
+    private int[] shotCell = new int[64];
+    private int[] shotResult = new int[64];
+    private int shots;
+
+    public Replay(GameRecord record) {
+        EventCursor events = new EventCursor(ByteBuffer.wrap(record.bytes()), 0, record.length());
+        this.boardSize = events.boardSize;
+
+        while (events.next()) {
+            switch (events.kind) {
+                case GameRecord.PLACE:
+                    addPlacement(events.player, events.type, events.cell, events.vertical);
+                    break;
+                case GameRecord.SHOT:
+                    addShot(events.player, events.cell, events.result);
+                    break;
+                default:
+                    winner = events.winner;
+                    break;
+            }
+        }
+    }
+
+//==================================== QUERIES =================================
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // 0 when the record has no END event
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getShotCount() {
+        return shots;
+    }
+
+    public int getShotPlayer(int turn) {
+        return shotPlayer[turn];
+    }
+
+    public int getShotRow(int turn) {
+        return shotCell[turn] / boardSize;
+    }
+
+    public int getShotCol(int turn) {
+        return shotCell[turn] % boardSize;
+    }
+
+    public int getShotResult(int turn) {
+        return shotResult[turn];
+    }
+
+    // player's board after the first `turns` shots of the game (0 = just after placement)
+    public Board boardAt(int player, int turns) {
+        Board board = new Board(boardSize);
+
+        for (int i = 0; i < placements; i++) {
+            if (placePlayer[i] != player)
+                continue;
+
+            int status = board.tryPlaceShip(Fleet.newShip(placeType[i]), placeCell[i] / boardSize,
+                    placeCell[i] % boardSize, placeVertical[i] == 1 ? 'V' : 'H');
+            if (status != BoardStatus.PLACED)
+                throw new IllegalStateException("Recorded placement " + i + " rejected: " + BoardStatus.name(status));
+        }
+
+        for (int t = 0; t < Math.min(turns, shots); t++) {
+            if (shotPlayer[t] == player)
+                continue;
+
+            int status = board.tryAttackCell(getShotRow(t), getShotCol(t));
+            if (status != shotResult[t])
+                throw new IllegalStateException("Turn " + t + " replays as " + BoardStatus.name(status)
+                        + " but was recorded as " + BoardStatus.name(shotResult[t]));
+        }
+        return board;
+    }
+
+//==================================== DECODING =================================
+
+    private void addPlacement(int player, int type, int cell, int vertical) {
+        if (placements == placePlayer.length) {
+            placePlayer = Arrays.copyOf(placePlayer, placements * 2);
+            placeType = Arrays.copyOf(placeType, placements * 2);
+            placeCell = Arrays.copyOf(placeCell, placements * 2);
+            placeVertical = Arrays.copyOf(placeVertical, placements * 2);
+        }
+        placePlayer[placements] = player;
+        placeType[placements] = type;
+        placeCell[placements] = cell;
+        placeVertical[placements] = vertical;
+        placements++;
+    }
+
+    private void addShot(int player, int cell, int result) {
+        if (shots == shotPlayer.length) {
+            shotPlayer = Arrays.copyOf(shotPlayer, shots * 2);
+            shotCell = Arrays.copyOf(shotCell, shots * 2);
+            shotResult = Arrays.copyOf(shotResult, shots * 2);
+        }
+        shotPlayer[shots] = player;
+        shotCell[shots] = cell;
+        shotResult[shots] = result;
+        shots++;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Read side of a directory of archived games, for random access by game
+ * number and turn.
+ *
+ * Layout, per segment N (all numbers big-endian):
+ *
+ *   segment-N.dat  per game: the GameRecord bytes, then its snapshots
+ *   segment-N.idx  per game, 24 bytes: data offset (long), record length,
+ *                  shot count, snapshot count, winner (ints)
+ *
+ * Snapshot k holds the state after k * SNAPSHOT_INTERVAL shots: the
+ * record offset of the next event, then for each board the last hit cell
+ * (-1 for none) and its attacked cells as bits (row * size + col), the
+ * same layout as BitBoard. Boards larger than 128 x 128 get no snapshots.
+ *
+ * Segments are memory-mapped read-only. A game is decoded straight from
+ * the mapping: boardAt() places the fleet, restores the nearest snapshot
+ * and applies only the shots after it. Games are numbered from 0 across
+ * all segments in order. Safe for concurrent readers.
+ */
+
+package replay;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import board.Board;
+import board.BoardStatus;
+import ships.Fleet;
+
+public class ReplayArchive {
+
+    static final int SNAPSHOT_INTERVAL = 32;
+    static final int MAX_SNAPSHOT_WORDS = 256;
+    static final long SEGMENT_BYTES = 512L * 1024 * 1024;
+
+    static final int INDEX_ENTRY_BYTES = 24;
+
+    private final MappedByteBuffer[] data;
+    private final MappedByteBuffer[] index;
+    private final long[] firstGame;       // number of the first game of each segment
+    private final long games;
+
+    public ReplayArchive(Path directory) throws IOException {
+        List<Path> segments = segmentFiles(directory);
+        data = new MappedByteBuffer[segments.size()];
+        index = new MappedByteBuffer[segments.size()];
+        firstGame = new long[segments.size()];
+
+        long total = 0;
+        for (int s = 0; s < segments.size(); s++) {
+            data[s] = map(dataFile(directory, s));
+            index[s] = map(indexFile(directory, s));
+            firstGame[s] = total;
+            total += index[s].capacity() / INDEX_ENTRY_BYTES;
+        }
+        games = total;
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+//==================================== FILES =================================
+
+    static Path dataFile(Path directory, int segment) {
+        return directory.resolve(String.format("segment-%05d.dat", segment));
+    }
+
+    static Path indexFile(Path directory, int segment) {
+        return directory.resolve(String.format("segment-%05d.idx", segment));
+    }
+
+    // index files present, in segment order
+    static List<Path> segmentFiles(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory))
+            return segments;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(f -> f.getFileName().toString().matches("segment-\\d{5}\\.idx"))
+                 .sorted()
+                 .forEach(segments::add);
+        }
+        return segments;
+    }
+
+    // longs needed for one board bit mask
+    static int words(int boardSize) {
+        return (boardSize * boardSize + 63) >>> 6;
+    }
+
+//==================================== QUERIES =================================
+
+    public long getGameCount() {
+        return games;
+    }
+
+    public int getShotCount(long game) {
+        int s = segmentOf(game);
+        return index[s].getInt(entry(game, s) + 12);
+    }
+
+    public int getWinner(long game) {
+        int s = segmentOf(game);
+        return index[s].getInt(entry(game, s) + 20);
+    }
+
+    // copy of the encoded game
+    public GameRecord getRecord(long game) {
+        int s = segmentOf(game);
+        int offset = (int) index[s].getLong(entry(game, s));
+        byte[] bytes = new byte[index[s].getInt(entry(game, s) + 8)];
+        data[s].get(offset, bytes);
+        return new GameRecord(bytes);
+    }
+
+    // player's board after the first `turns` shots of the game (0 = just after placement)
+    public Board boardAt(long game, int player, int turns) {
+        int s = segmentOf(game);
+        MappedByteBuffer bytes = data[s];
+        int entry = entry(game, s);
+
+        int offset = (int) index[s].getLong(entry);
+        int length = index[s].getInt(entry + 8);
+        int shots = index[s].getInt(entry + 12);
+        int snapshots = index[s].getInt(entry + 16);
+        turns = Math.min(turns, shots);
+
+        EventCursor events = new EventCursor(bytes, offset, offset + length);
+        int size = events.boardSize;
+        Board board = new Board(size);
+
+        // 1️ Fleet: placements come before the first shot
+        int firstShot = events.position();
+        while (events.next() && events.kind == GameRecord.PLACE) {
+            if (events.player == player)
+                place(board, events);
+            firstShot = events.position();
+        }
+
+        // 2️ Nearest snapshot at or before the turn
+        int applied = 0;
+        int k = Math.min(turns / SNAPSHOT_INTERVAL, snapshots);
+
+        if (k > 0) {
+            int snapshot = offset + length + (k - 1) * ArchiveWriter.snapshotBytes(size);
+            int words = words(size);
+            int at = snapshot + 4 + (player - 1) * (4 + 8 * words);
+
+            int lastHit = bytes.getInt(at);
+            int[] hits = new int[Math.min(turns, size * size)];
+            int count = 0;
+            for (int w = 0; w < words; w++) {
+                for (long bits = bytes.getLong(at + 4 + 8 * w); bits != 0; bits &= bits - 1)
+                    hits[count++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+
+            board.restoreHits(Arrays.copyOf(hits, count), lastHit < 0 ? -1 : lastHit / size, lastHit < 0 ? -1 : lastHit % size);
+            events.seek(offset + bytes.getInt(snapshot));
+            applied = k * SNAPSHOT_INTERVAL;
+        } else {
+            events.seek(firstShot);
+        }
+
+        // 3️ Remaining shots up to the turn
+        while (applied < turns && events.next()) {
+            if (events.kind != GameRecord.SHOT)
+                continue;
+            applied++;
+            if (events.player == player)
+                continue;
+
+            int status = board.tryAttackCell(events.cell / size, events.cell % size);
+            if (status != events.result)
+                throw new IllegalStateException("Game " + game + " turn " + (applied - 1) + " replays as "
+                        + BoardStatus.name(status) + " but was recorded as " + BoardStatus.name(events.result));
+        }
+        return board;
+    }
+
+    private static void place(Board board, EventCursor events) {
+        int size = board.getSize();
+        int status = board.tryPlaceShip(Fleet.newShip(events.type), events.cell / size, events.cell % size,
+                events.vertical == 1 ? 'V' : 'H');
+        if (status != BoardStatus.PLACED)
+            throw new IllegalStateException("Recorded placement rejected: " + BoardStatus.name(status));
+    }
+
+    private int segmentOf(long game) {
+        if (game < 0 || game >= games)
+            throw new IndexOutOfBoundsException("Game " + game + " of " + games);
+
+        int lo = 0, hi = firstGame.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (firstGame[mid] <= game)
+                lo = mid;
+            else
+                hi = mid - 1;
+        }
+        return lo;
+    }
+
+    // byte offset of the game's index entry within segment s
+    private int entry(long game, int s) {
+        return (int) (game - firstGame[s]) * INDEX_ENTRY_BYTES;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Headless client of the GameServer, for loopback checks and load tests.
+ * Responsible for:
+ *  - Joining the lobby and placing its fleet with AUTO
+ *  - Firing at every cell once, in a random order, until the match ends
+ *
+ * It speaks the same line protocol as any other client, so a run of bots
+ * drives the real server end to end. call() returns the END line.
+ */
+
+package server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+public class BotClient implements Callable<String> {
+
+    private static final int READ_TIMEOUT_MILLIS = 30_000;
+
+    private final String host;
+    private final int port;
+    private final String name;
+    private final SplittableRandom random;
+
+    private BufferedWriter out;
+    private int[] shots;        // every cell, shuffled
+    private int fired;
+    private int boardSize;
+
+    public BotClient(String host, int port, String name, SplittableRandom random) {
+        this.host = host;
+        this.port = port;
+        this.name = name;
+        this.random = random;
+    }
+
+    @Override
+    public String call() throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            //a stuck match fails the bot instead of hanging it
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.split(" ");
+
+                switch (parts[0]) {
+                    case "HELLO":
+                        boardSize = Integer.parseInt(parts[1]);
+                        shuffleShots();
+                        send("JOIN " + name);
+                        break;
+                    case "START":
+                        send("AUTO");
+                        break;
+                    case "TURN":
+                        fire();
+                        break;
+                    case "ERR":
+                        //a rejected shot keeps the turn
+                        if (fired > 0)
+                            fire();
+                        break;
+                    case "END":
+                        send("QUIT");
+                        return line;
+                    default:
+                        //WAIT, PLACED, MISS, HIT, SUNK and SHOT need no answer
+                        break;
+                }
+            }
+        }
+        throw new IOException(name + ": server closed the connection before the match ended");
+    }
+
+    private void shuffleShots() {
+        shots = new int[boardSize * boardSize];
+        for (int i = 0; i < shots.length; i++)
+            shots[i] = i;
+
+        for (int i = shots.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = shots[i];
+            shots[i] = shots[j];
+            shots[j] = tmp;
+        }
+    }
+
+    private void fire() throws IOException {
+        if (fired == shots.length)
+            throw new IOException(name + ": no cells left to fire at");
+
+        int cell = shots[fired++];
+        send("FIRE " + cell / boardSize + " " + cell % boardSize);
+    }
+
+    private void send(String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * TCP server hosting many Sea Battle matches at once.
+ * Responsible for:
+ *  - Accepting connections, one virtual thread per client
+ *  - Pairing joining clients into matches
+ *  - Appending every finished match to the GameLog, when one is given
+ *
+ * Each client blocks on its own socket, but on a virtual thread, so
+ * thousands of idle connections cost only their buffers. Turns are
+ * applied under the match lock and answered immediately.
+ *
+ * Protocol: one ASCII line per message, rows and columns 0-based.
+ *
+ *   server -> client               client -> server
+ *   HELLO <size>                   JOIN <name>
+ *   WAIT                           PLACE <row> <col> <H|V>
+ *   START <opponent> <lengths>     AUTO
+ *   PLACED <index>                 FIRE <row> <col>
+ *   TURN                           QUIT
+ *   MISS|HIT <row> <col>
+ *   SUNK <row> <col> <length>
+ *   SHOT <row> <col> <MISS|HIT|SUNK>
+ *   END <WIN|LOSE> [LEFT]
+ *   ERR <reason>
+ *
+ * <lengths> is the fleet to place, in order, comma separated.
+ * PLACE places the next ship of the fleet, AUTO places all remaining
+ * ones at random. The first player to join shoots first.
+ */
+
+package server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import engine.Match;
+import engine.Seeds;
+import replay.GameLog;
+
+public class GameServer implements Closeable {
+
+    private static final int BACKLOG = 1024;
+    private static final int CLOSE_WAIT_SECONDS = 2;
+
+    private final int boardSize;
+    private final GameLog log;          // null: games are not recorded
+    private final ServerSocket listener;
+    private final ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+
+    // lobby: at most one client waits for an opponent
+    private final ReentrantLock lobbyLock = new ReentrantLock();
+    private final Seeds seeds = new Seeds(Seeds.masterSeed());
+    private long matchesStarted;
+    private Session waiting;
+
+    private final AtomicInteger activeMatches = new AtomicInteger();
+
+    // port 0 picks a free port, see getPort()
+    public GameServer(int port, int boardSize) throws IOException {
+        this(port, boardSize, null);
+    }
+
+    public GameServer(int port, int boardSize, GameLog log) throws IOException {
+        this.boardSize = boardSize;
+        this.log = log;
+        this.listener = new ServerSocket();
+        listener.setReuseAddress(true);
+        listener.bind(new InetSocketAddress(port), BACKLOG);
+    }
+
+    public int getPort() {
+        return listener.getLocalPort();
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getActiveMatches() {
+        return activeMatches.get();
+    }
+
+    // Accepts clients until close() is called
+    public void serve() throws IOException {
+        while (!listener.isClosed()) {
+            Socket socket;
+            try {
+                socket = listener.accept();
+            } catch (SocketException e) {
+                //closed while waiting
+                if (listener.isClosed())
+                    return;
+                throw e;
+            }
+
+            socket.setTcpNoDelay(true);
+            clients.execute(new Session(this, socket));
+        }
+    }
+
+    // Disconnects every client; their matches are forfeited and logged before this returns
+    @Override
+    public void close() throws IOException {
+        listener.close();
+        clients.shutdownNow();
+        try {
+            clients.awaitTermination(CLOSE_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+//==================================== LOBBY =================================
+
+    // Pairs the client with the one waiting, or makes it wait
+    void join(Session session) {
+        ServerMatch match;
+
+        lobbyLock.lock();
+        try {
+            if (waiting == null || waiting == session) {
+                waiting = session;
+                session.send("WAIT");
+                return;
+            }
+            Session opponent = waiting;
+            waiting = null;
+            //match n's fleets depend only on the server seed and n
+            SplittableRandom matchRandom = seeds.stream(matchesStarted++, Seeds.FLEETS);
+
+            //attached before the unlock: a client dropping from here on goes
+            //through leave() and then finds its match to forfeit
+            match = new ServerMatch(this, boardSize, opponent, session, matchRandom);
+            activeMatches.incrementAndGet();
+            match.attach();
+        } finally {
+            lobbyLock.unlock();
+        }
+
+        match.start();
+    }
+
+    // Called when a client disconnects
+    void leave(Session session) {
+        lobbyLock.lock();
+        try {
+            if (waiting == session)
+                waiting = null;
+        } finally {
+            lobbyLock.unlock();
+        }
+    }
+
+    void matchEnded(Match match) {
+        activeMatches.decrementAndGet();
+
+        if (log == null)
+            return;
+        try {
+            log.append(match.getRecord());
+        } catch (IOException e) {
+            System.err.println("Could not log game: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * One match between two connected clients.
+ * Responsible for:
+ *  - Feeding client moves into an engine.Match
+ *  - Telling both clients what happened
+ *
+ * Both sessions call in from their own threads; every call takes the
+ * match lock, submits the move and answers at once. Session.send only
+ * queues the line, so the lock is never held while a client is written to.
+ * Side 0 joined first; it is player 1 and shoots first.
+ */
+
+package server;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import board.BoardStatus;
+import engine.Match;
+import ships.Ship;
+
+final class ServerMatch {
+
+    private final GameServer server;
+    private final Session[] sessions;
+    private final Match match;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    ServerMatch(GameServer server, int boardSize, Session first, Session second, SplittableRandom random) {
+        this.server = server;
+        this.sessions = new Session[] { first, second };
+        this.match = new Match(boardSize, random);
+    }
+
+    // Called by the lobby while it still holds both clients
+    void attach() {
+        sessions[0].attach(this, 0);
+        sessions[1].attach(this, 1);
+    }
+
+    void start() {
+        String lengths = fleetLengths(match.getFleet(1));
+
+        lock.lock();
+        try {
+            //a client dropped between pairing and now: leave() already ended the match
+            if (match.getPhase() == Match.FINISHED)
+                return;
+            sessions[0].send("START " + sessions[1].getName() + " " + lengths);
+            sessions[1].send("START " + sessions[0].getName() + " " + lengths);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String fleetLengths(Ship[] fleet) {
+        StringBuilder sb = new StringBuilder();
+        for (Ship ship : fleet) {
+            if (sb.length() > 0)
+                sb.append(',');
+            sb.append(ship.getSize());
+        }
+        return sb.toString();
+    }
+
+//==================================== PLACEMENT =================================
+
+    void place(int side, int row, int col, char direction) {
+        lock.lock();
+        try {
+            int index = match.getShipsPlaced(side + 1);
+            int status = match.submitPlacement(side + 1, row, col, direction);
+
+            if (status != BoardStatus.PLACED) {
+                sessions[side].send("ERR " + BoardStatus.name(status));
+                return;
+            }
+
+            sessions[side].send("PLACED " + index);
+            announceFirstTurn();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // random positions for every ship not placed yet
+    void placeRemaining(int side) {
+        lock.lock();
+        try {
+            int status = match.placeRemaining(side + 1);
+
+            if (status != BoardStatus.PLACED) {
+                sessions[side].send("ERR " + BoardStatus.name(status));
+                return;
+            }
+
+            sessions[side].send("PLACED " + (match.getShipsPlaced(side + 1) - 1));
+            announceFirstTurn();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void announceFirstTurn() {
+        if (match.getPhase() == Match.P1_TURN)
+            sessions[0].send("TURN");
+    }
+
+//==================================== ATTACK =================================
+
+    void fire(int side, int row, int col) {
+        lock.lock();
+        try {
+            int status = match.submitShot(side + 1, row, col);
+
+            if (BoardStatus.isRejected(status)) {
+                sessions[side].send("ERR " + BoardStatus.name(status));
+                return;
+            }
+
+            int target = 1 - side;
+            String result = BoardStatus.name(status);
+
+            if (status == BoardStatus.SUNK) {
+                int length = match.getBoard(target + 1).getShip(row, col).getSize();
+                sessions[side].send("SUNK " + row + " " + col + " " + length);
+            } else {
+                sessions[side].send(result + " " + row + " " + col);
+            }
+            sessions[target].send("SHOT " + row + " " + col + " " + result);
+
+            if (match.getPhase() == Match.FINISHED) {
+                sessions[side].send("END WIN");
+                sessions[target].send("END LOSE");
+                finish();
+                return;
+            }
+
+            sessions[target].send("TURN");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+//==================================== LEAVING =================================
+
+    // A client disconnected; the other one wins if the match was still on
+    void leave(int side) {
+        lock.lock();
+        try {
+            if (match.getPhase() == Match.FINISHED)
+                return;
+
+            match.resign(side + 1);
+            sessions[1 - side].send("END WIN LEFT");
+            finish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void finish() {
+        sessions[0].detach();
+        sessions[1].detach();
+        server.matchEnded(match);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * One connected client of the GameServer.
+ *
+ * Reads command lines on its own virtual thread and forwards them to the
+ * lobby or to its match. send() may also be called by the opponent's
+ * thread, often under the match lock, so it never blocks: lines go to an
+ * outbox that a second virtual thread writes to the socket. A client
+ * that stops reading only fills its own outbox, and is dropped once
+ * MAX_QUEUED_LINES are waiting.
+ */
+
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class Session implements Runnable {
+
+    private static final int MAX_NAME_LENGTH = 32;
+    private static final int MAX_LINE_LENGTH = 256;     // every command fits easily
+    private static final int MAX_QUEUED_LINES = 1024;   // a whole match is a few hundred lines
+
+    private final GameServer server;
+    private final Socket socket;
+    private final StringBuilder line = new StringBuilder(MAX_LINE_LENGTH);
+
+    private final ReentrantLock outboxLock = new ReentrantLock();
+    private final Condition queued = outboxLock.newCondition();
+    private final ArrayDeque<String> outbox = new ArrayDeque<>();
+    private boolean closed;     // no more lines are queued or written
+
+    private String name = "player";
+    private volatile ServerMatch match;
+    private volatile int side;
+
+    Session(GameServer server, Socket socket) {
+        this.server = server;
+        this.socket = socket;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void attach(ServerMatch match, int side) {
+        this.side = side;
+        this.match = match;
+    }
+
+    void detach() {
+        match = null;
+    }
+
+//==================================== INPUT =================================
+
+    @Override
+    public void run() {
+        try (socket) {
+            OutputStream out = socket.getOutputStream();
+            Thread.ofVirtual().name("session-writer").start(() -> writeLines(out));
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+
+            send("HELLO " + server.getBoardSize());
+
+            String command;
+            while ((command = readLine(in)) != null) {
+                if (!handle(command.trim()))
+                    break;
+            }
+        } catch (IOException e) {
+            //connection dropped, treated like QUIT
+        } finally {
+            disconnected();
+            closeOutbox();
+        }
+    }
+
+    // Next line without its terminator, null at end of stream. A line longer
+    // than MAX_LINE_LENGTH is answered with an error and skipped, so a client
+    // cannot make the server buffer without limit.
+    private String readLine(BufferedReader in) throws IOException {
+        while (true) {
+            line.setLength(0);
+            boolean tooLong = false;
+
+            int c;
+            while ((c = in.read()) >= 0 && c != '\n') {
+                if (line.length() < MAX_LINE_LENGTH)
+                    line.append((char) c);
+                else
+                    tooLong = true;
+            }
+
+            if (c < 0 && line.length() == 0)
+                return null;
+            if (!tooLong)
+                return line.toString();
+            send("ERR line too long");
+        }
+    }
+
+    // false when the client asked to leave
+    private boolean handle(String line) {
+        String[] parts = line.split("\\s+");
+        ServerMatch current = match;
+
+        switch (parts[0].toUpperCase()) {
+            case "JOIN":
+                if (current != null) {
+                    send("ERR already in a match");
+                } else {
+                    if (parts.length > 1)
+                        name = parts[1].length() > MAX_NAME_LENGTH ? parts[1].substring(0, MAX_NAME_LENGTH) : parts[1];
+                    server.join(this);
+                }
+                return true;
+
+            case "PLACE":
+                if (current == null) {
+                    send("ERR not in a match");
+                } else if (parts.length != 4 || parts[3].length() != 1) {
+                    send("ERR usage: PLACE <row> <col> <H|V>");
+                } else {
+                    Integer row = parseInt(parts[1]), col = parseInt(parts[2]);
+                    if (row == null || col == null)
+                        send("ERR row and column must be numbers");
+                    else
+                        current.place(side, row, col, parts[3].charAt(0));
+                }
+                return true;
+
+            case "AUTO":
+                if (current == null)
+                    send("ERR not in a match");
+                else
+                    current.placeRemaining(side);
+                return true;
+
+            case "FIRE":
+                if (current == null) {
+                    send("ERR not in a match");
+                } else if (parts.length != 3) {
+                    send("ERR usage: FIRE <row> <col>");
+                } else {
+                    Integer row = parseInt(parts[1]), col = parseInt(parts[2]);
+                    if (row == null || col == null)
+                        send("ERR row and column must be numbers");
+                    else
+                        current.fire(side, row, col);
+                }
+                return true;
+
+            case "QUIT":
+                return false;
+
+            default:
+                send("ERR unknown command");
+                return true;
+        }
+    }
+
+    private static Integer parseInt(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void disconnected() {
+        server.leave(this);
+        ServerMatch current = match;
+        if (current != null)
+            current.leave(side);
+    }
+
+//==================================== OUTPUT =================================
+
+    // Queues one line and returns at once; lines to a closed or stalled client are dropped
+    void send(String line) {
+        outboxLock.lock();
+        try {
+            if (closed)
+                return;
+
+            if (outbox.size() == MAX_QUEUED_LINES) {
+                //not reading: closing the socket ends its reader, which leaves the match
+                closed = true;
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    //already gone
+                }
+                return;
+            }
+
+            outbox.add(line);
+            queued.signal();
+        } finally {
+            outboxLock.unlock();
+        }
+    }
+
+    private void closeOutbox() {
+        outboxLock.lock();
+        try {
+            closed = true;
+            queued.signal();
+        } finally {
+            outboxLock.unlock();
+        }
+    }
+
+    // Writer thread: everything queued since the last write goes out in one write
+    private void writeLines(OutputStream out) {
+        StringBuilder batch = new StringBuilder();
+        try {
+            while (true) {
+                outboxLock.lock();
+                try {
+                    while (outbox.isEmpty() && !closed)
+                        queued.await();
+                    if (outbox.isEmpty())
+                        return;
+
+                    batch.setLength(0);
+                    for (String next; (next = outbox.poll()) != null; )
+                        batch.append(next).append('\n');
+                } finally {
+                    outboxLock.unlock();
+                }
+
+                out.write(batch.toString().getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            //peer gone; the reader notices the closed socket
+        }
+    }
+}
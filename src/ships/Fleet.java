@@ -0,0 +1,67 @@
+/*
+ * Fleet composition for a board of a given size.
+ *
+ * A 10 x 10 board gets the standard fleet:
+ * Destroyer, 2 Submarines, Battleship and Carrier.
+ * Larger oceans get one standard fleet per 100 squares,
+ * so ship density stays the same as on the classic board.
+ *
+ * Ship types also have a small numeric code (0-3) for compact
+ * binary formats such as the game log.
+ */
+
+package ships;
+
+public class Fleet {
+
+    private static final int SHIPS_PER_FLEET = 5;
+    private static final int SQUARES_PER_FLEET = 100;
+
+    //=====================SHIP TYPE CODES=====================
+
+    public static final int DESTROYER = 0;
+    public static final int SUBMARINE = 1;
+    public static final int BATTLESHIP = 2;
+    public static final int CARRIER = 3;
+
+    private Fleet() {
+    }
+
+    // How many standard fleets a board of this size carries
+    public static int copies(int boardSize) {
+        return Math.max(1, (boardSize * boardSize) / SQUARES_PER_FLEET);
+    }
+
+    public static Ship[] forBoard(int boardSize) {
+        int copies = copies(boardSize);
+        Ship[] fleet = new Ship[copies * SHIPS_PER_FLEET];
+
+        for (int i = 0; i < fleet.length; i += SHIPS_PER_FLEET) {
+            fleet[i] = new DestroyerShip();
+            fleet[i + 1] = new Submarine();
+            fleet[i + 2] = new Submarine();
+            fleet[i + 3] = new BattleShip();
+            fleet[i + 4] = new CarrierShip();
+        }
+        return fleet;
+    }
+
+    public static int typeOf(Ship ship) {
+        if (ship instanceof DestroyerShip) return DESTROYER;
+        if (ship instanceof Submarine) return SUBMARINE;
+        if (ship instanceof BattleShip) return BATTLESHIP;
+        if (ship instanceof CarrierShip) return CARRIER;
+        throw new IllegalArgumentException("Unknown ship type: " + ship.getClass().getSimpleName());
+    }
+
+    // New, undamaged ship of the given type code
+    public static Ship newShip(int type) {
+        switch (type) {
+            case DESTROYER: return new DestroyerShip();
+            case SUBMARINE: return new Submarine();
+            case BATTLESHIP: return new BattleShip();
+            case CARRIER: return new CarrierShip();
+            default: throw new IllegalArgumentException("Unknown ship type code: " + type);
+        }
+    }
+}
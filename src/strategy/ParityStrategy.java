@@ -0,0 +1,125 @@
+/*
+ * Hunt / target strategy with checkerboard parity.
+ *
+ *  - Target: while there are hits on ships not sunk yet, fire next to
+ *    them - first where two hits in a row point, then at any unknown
+ *    neighbour of a hit.
+ *  - Hunt: fire at a random unknown cell with (row + col) divisible by
+ *    the length of the shortest ship afloat. Every placement of that ship
+ *    crosses such a cell, so no ship can hide between the shots.
+ *
+ * Candidates are collected into one array sized in newGame. A cell next
+ * to several hits is a candidate once: a stamp array marks the cells
+ * already collected, so the array never needs more than one slot a cell.
+ */
+
+package strategy;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import engine.MoveStrategy;
+import engine.Observation;
+
+public class ParityStrategy implements MoveStrategy {
+
+    private SplittableRandom random;
+    private int size;
+    private int[] candidates = new int[0];
+    private int[] stamp = new int[0];    // cell == generation once collected by the current target()
+    private int generation;
+
+    public String name() {
+        return "parity";
+    }
+
+    public void newGame(int boardSize, SplittableRandom random) {
+        this.random = random;
+        this.size = boardSize;
+        if (candidates.length != boardSize * boardSize) {
+            candidates = new int[boardSize * boardSize];
+            stamp = new int[boardSize * boardSize];
+            generation = 0;
+        }
+    }
+
+    public int chooseShot(Observation view) {
+        if (view.liveHits() > 0) {
+            int cell = target(view, true);
+            if (cell < 0)
+                cell = target(view, false);
+            if (cell >= 0)
+                return cell;
+        }
+        return hunt(view);
+    }
+
+    // Unknown neighbours of live hits; inLine keeps only those continuing a run of two hits
+    private int target(Observation view, boolean inLine) {
+        int count = 0;
+
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+
+        for (int cell = 0; cell < size * size; cell++) {
+            if (view.cellState(cell) != Observation.HIT)
+                continue;
+
+            int row = cell / size;
+            int col = cell % size;
+
+            for (int d = 0; d < 4; d++) {
+                int dr = d == 0 ? 1 : d == 1 ? -1 : 0;
+                int dc = d == 2 ? 1 : d == 3 ? -1 : 0;
+
+                int r = row + dr, c = col + dc;
+                if (r < 0 || r >= size || c < 0 || c >= size)
+                    continue;
+                if (view.cellState(r * size + c) != Observation.UNKNOWN)
+                    continue;
+
+                if (inLine) {
+                    int br = row - dr, bc = col - dc;
+                    if (br < 0 || br >= size || bc < 0 || bc >= size
+                            || view.cellState(br * size + bc) != Observation.HIT)
+                        continue;
+                }
+                int next = r * size + c;
+                if (stamp[next] != generation) {
+                    stamp[next] = generation;
+                    candidates[count++] = next;
+                }
+            }
+        }
+        return pick(count);
+    }
+
+    private int hunt(Observation view) {
+        int shortest = 1;
+        while (shortest < size && view.shipsAfloat(shortest) == 0)
+            shortest++;
+
+        int count = 0;
+        for (int cell = 0; cell < size * size; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            if ((row + col) % shortest == 0 && view.cellState(cell) == Observation.UNKNOWN)
+                candidates[count++] = cell;
+        }
+
+        //every parity cell is known: any unknown cell will do
+        if (count == 0) {
+            for (int cell = 0; cell < size * size; cell++) {
+                if (view.cellState(cell) == Observation.UNKNOWN)
+                    candidates[count++] = cell;
+            }
+        }
+        return pick(count);
+    }
+
+    private int pick(int count) {
+        return count == 0 ? -1 : candidates[random.nextInt(count)];
+    }
+}
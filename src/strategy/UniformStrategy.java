@@ -0,0 +1,48 @@
+/*
+ * Baseline strategy: every shot at a uniformly random unknown cell.
+ *
+ * Keeps a deck of cells not fired at yet and draws from it, so a move is
+ * one random number and one swap.
+ */
+
+package strategy;
+
+import java.util.SplittableRandom;
+
+import engine.MoveStrategy;
+import engine.Observation;
+
+public class UniformStrategy implements MoveStrategy {
+
+    private SplittableRandom random;
+    private int[] deck = new int[0];
+    private int remaining;
+
+    public String name() {
+        return "uniform";
+    }
+
+    public void newGame(int boardSize, SplittableRandom random) {
+        this.random = random;
+
+        int cells = boardSize * boardSize;
+        if (deck.length != cells)
+            deck = new int[cells];
+        for (int i = 0; i < cells; i++)
+            deck[i] = i;
+        remaining = cells;
+    }
+
+    public int chooseShot(Observation view) {
+        while (remaining > 0) {
+            int i = random.nextInt(remaining);
+            int cell = deck[i];
+            deck[i] = deck[--remaining];
+            deck[remaining] = cell;
+
+            if (view.cellState(cell) == Observation.UNKNOWN)
+                return cell;
+        }
+        return -1;
+    }
+}